@@ -165,6 +165,10 @@ public class ApplicationConfig {
                         .requestMatchers("/swagger-ui/**").permitAll()
                         .requestMatchers("/v3/api-docs/**").permitAll()
                         .requestMatchers("/graphiql").permitAll()
+                        // Соединение WebSocket аутентифицируется
+                        // по токену из сообщения connection_init
+                        // (JwtWebSocketInterceptor).
+                        .requestMatchers("/graphql-ws").permitAll()
                         .anyRequest().authenticated()
                 )
                 .anonymous(AbstractHttpConfigurer::disable)
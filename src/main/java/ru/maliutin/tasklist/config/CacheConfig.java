@@ -0,0 +1,81 @@
+package ru.maliutin.tasklist.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import ru.maliutin.tasklist.config.cache.CompactCacheSerializer;
+import ru.maliutin.tasklist.config.cache.DomainCacheCodecs;
+import ru.maliutin.tasklist.config.cache.TwoLevelCacheManager;
+import ru.maliutin.tasklist.service.props.CacheProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Конфигурация кеширования: локальный кеш узла перед кешем Redis.
+ */
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Бин менеджера кешей, используемого аннотациями
+     * {@code @Cacheable}, {@code @CachePut} и {@code @CacheEvict}.
+     *
+     * @param connectionFactory фабрика соединений с Redis.
+     * @param redisTemplate     клиент Redis для рассылки сообщений.
+     * @param listenerContainer контейнер подписок на каналы Redis.
+     * @param cacheProperties   настройки кеширования.
+     * @param meterRegistry     реестр метрик.
+     * @return менеджер двухуровневых кешей.
+     */
+    @Bean
+    public TwoLevelCacheManager cacheManager(
+            final RedisConnectionFactory connectionFactory,
+            final StringRedisTemplate redisTemplate,
+            final RedisMessageListenerContainer listenerContainer,
+            final CacheProperties cacheProperties,
+            final MeterRegistry meterRegistry) {
+        Map<String, RedisCacheConfiguration> regions = new HashMap<>();
+        cacheProperties.getRegions().keySet().forEach(name ->
+                regions.put(name,
+                        configuration(cacheProperties.resolve(name))));
+        RedisCacheManager redisCacheManager = RedisCacheManager
+                .builder(connectionFactory)
+                .cacheDefaults(configuration(cacheProperties.resolve("")))
+                .withInitialCacheConfigurations(regions)
+                .build();
+        redisCacheManager.initializeCaches();
+        return new TwoLevelCacheManager(redisCacheManager, cacheProperties,
+                redisTemplate, listenerContainer, meterRegistry);
+    }
+
+    /**
+     * Служебный метод создания настроек кеша Redis:
+     * время жизни записей, префикс ключей и формат значений.
+     *
+     * @param region настройки кеша.
+     * @return настройки кеша Redis.
+     */
+    private RedisCacheConfiguration configuration(
+            final CacheProperties.Region region) {
+        RedisSerializer<Object> valueSerializer =
+                region.getSerializer() == CacheProperties.Serializer.JDK
+                        ? new JdkSerializationRedisSerializer()
+                        : new CompactCacheSerializer(DomainCacheCodecs.all());
+        String keyPrefix = region.getKeyPrefix();
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(region.getTtl())
+                .computePrefixWith(cacheName ->
+                        keyPrefix + cacheName + "::")
+                .serializeValuesWith(
+                        SerializationPair.fromSerializer(valueSerializer));
+    }
+}
@@ -1,10 +1,30 @@
 package ru.maliutin.tasklist.config;
 
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.analysis.QueryVisitorFieldEnvironment;
 import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLTypeUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.graphql.execution.RuntimeWiringConfigurer;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import ru.maliutin.tasklist.service.TaskService;
+import ru.maliutin.tasklist.service.props.GraphqlLimitsProperties;
+import ru.maliutin.tasklist.service.props.PersistedQueryProperties;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
 @Configuration
 public class GraphqlConfig {
 
@@ -23,4 +43,149 @@ public class GraphqlConfig {
                 .scalar(localDateTimeScalar())
                 .build();
     }
+
+    /**
+     * Ограничение глубины вложенности запроса, проверяется
+     * до выполнения запроса.
+     *
+     * @param properties настройки ограничений.
+     * @return инструментирование GraphQL.
+     */
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(
+            final GraphqlLimitsProperties properties) {
+        return new MaxQueryDepthInstrumentation(properties.getMaxDepth());
+    }
+
+    /**
+     * Ограничение стоимости запроса и бюджета пользователя.
+     *
+     * @param properties настройки ограничений.
+     * @return инструментирование GraphQL.
+     */
+    @Bean
+    public QueryCostInstrumentation queryCostInstrumentation(
+            final GraphqlLimitsProperties properties) {
+        return new QueryCostInstrumentation(fieldCost(properties), properties);
+    }
+
+    /**
+     * Модель стоимости полей: собственная стоимость поля
+     * (из настроек или по умолчанию) плюс стоимость вложенных полей.
+     * Для списков стоимость вложенных полей умножается на количество
+     * элементов: размер переданного списка (пакетные операции),
+     * аргумент limit поля или родительского поля (страница задач),
+     * размер из настроек для списков без ограничения или размер
+     * по умолчанию. Псевдонимы учитываются как отдельные поля.
+     *
+     * @param properties настройки ограничений.
+     * @return модель стоимости полей.
+     */
+    static QueryCostInstrumentation.FieldCost fieldCost(
+            final GraphqlLimitsProperties properties) {
+        Map<String, Integer> fieldCosts = properties.getFieldCosts();
+        Map<String, Integer> listSizes = properties.getListSizes();
+        return (field, childCost) -> {
+            String name = field.getFieldsContainer().getName()
+                    + "." + field.getFieldDefinition().getName();
+            long cost = fieldCosts.getOrDefault(name,
+                    properties.getDefaultFieldCost());
+            if (!GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(
+                    field.getFieldDefinition().getType()))) {
+                return cost + childCost;
+            }
+            return cost + childCost * listSize(field, listSizes.getOrDefault(
+                    name, properties.getDefaultListSize()));
+        };
+    }
+
+    /**
+     * Служебный метод определения количества элементов списка.
+     * Аргумент limit ограничивается так же, как при выборке страницы
+     * задач: отрицательное или слишком большое значение не уменьшает
+     * и не завышает стоимость запроса.
+     *
+     * @param field       поле списка.
+     * @param defaultSize размер по умолчанию.
+     * @return количество элементов.
+     */
+    private static int listSize(final QueryVisitorFieldEnvironment field,
+                                final int defaultSize) {
+        for (Object argument : field.getArguments().values()) {
+            if (argument instanceof Collection<?> list) {
+                return list.size();
+            }
+        }
+        QueryVisitorFieldEnvironment paged = field;
+        if (field.getFieldDefinition().getArgument("limit") == null) {
+            paged = field.getParentEnvironment();
+        }
+        if (paged == null
+                || paged.getFieldDefinition().getArgument("limit") == null) {
+            return Math.max(1, defaultSize);
+        }
+        Object limit = paged.getArguments().get("limit");
+        if (!(limit instanceof Integer size)) {
+            return TaskService.DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(size, TaskService.MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Кеш разобранных и проверенных запросов с поддержкой сохраненных
+     * запросов. Зарегистрированные запросы загружаются при запуске.
+     *
+     * @param properties настройки сохраненных запросов.
+     * @return кеш запросов.
+     * @throws IOException ошибка чтения зарегистрированных запросов.
+     */
+    @Bean
+    public PersistedQueryDocumentProvider persistedQueryDocumentProvider(
+            final PersistedQueryProperties properties) throws IOException {
+        Map<String, String> registry = new HashMap<>();
+        Resource[] resources = new PathMatchingResourcePatternResolver()
+                .getResources(properties.getRegistry());
+        for (Resource resource : resources) {
+            String query = resource.getContentAsString(StandardCharsets.UTF_8);
+            registry.put(PersistedQueryDocumentProvider.sha256(query), query);
+        }
+        log.info("Registered {} persisted GraphQL queries", registry.size());
+        return new PersistedQueryDocumentProvider(properties.getCacheSize(),
+                registry, properties.isRegisteredOnly());
+    }
+
+    /**
+     * Подключение кеша запросов к GraphQL.
+     *
+     * @param documentProvider кеш запросов.
+     * @return настройка источника GraphQL.
+     */
+    @Bean
+    public GraphQlSourceBuilderCustomizer persistedQueryCustomizer(
+            final PersistedQueryDocumentProvider documentProvider) {
+        return builder -> builder.configureGraphQl(graphQl ->
+                graphQl.preparsedDocumentProvider(documentProvider));
+    }
+
+    /**
+     * Передача пользователя в контекст запроса GraphQL
+     * для учета его бюджета стоимости запросов.
+     *
+     * @return перехватчик запросов GraphQL.
+     */
+    @Bean
+    public WebGraphQlInterceptor queryCostUserInterceptor() {
+        return (request, chain) -> {
+            Authentication authentication = SecurityContextHolder
+                    .getContext().getAuthentication();
+            if (authentication != null) {
+                request.configureExecutionInput((input, builder) ->
+                        builder.graphQLContext(context -> context.of(
+                                QueryCostInstrumentation.USER_KEY,
+                                authentication.getName()))
+                                .build());
+            }
+            return chain.next(request);
+        };
+    }
 }
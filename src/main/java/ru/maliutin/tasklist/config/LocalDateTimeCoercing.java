@@ -11,26 +11,84 @@ import graphql.schema.CoercingSerializeException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Date;
-import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.zone.ZoneRules;
+import java.util.List;
 import java.util.Locale;
 
+/**
+ * Преобразование скаляра LocalDateTime.
+ * Значение выводится с миллисекундами и смещением часового пояса
+ * сервера: 2024-01-31T18:30:00.000+03:00. Принимаются форматы
+ * ISO (со смещением или без) и формат REST API (yyyy-MM-dd HH:mm).
+ * Значение со смещением переводится в часовой пояс сервера.
+ */
 public class LocalDateTimeCoercing implements Coercing<LocalDateTime, String> {
+    /**
+     * Формат вывода (для значений вне быстрого пути).
+     */
+    private static final DateTimeFormatter OUTPUT_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSXXX",
+                    Locale.ENGLISH);
+    /**
+     * Формат даты задачи в REST API (TaskDto.expirationDate).
+     */
+    private static final DateTimeFormatter REST_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm", Locale.ENGLISH);
+    /**
+     * Длина значения в формате REST API.
+     */
+    private static final int REST_LENGTH = 16;
+    /**
+     * Длина значения без смещения в формате вывода.
+     */
+    private static final int OUTPUT_LENGTH = 23;
+
+    /**
+     * Часовой пояс сервера.
+     */
+    private final ZoneId zone;
+    /**
+     * Правила часового пояса сервера.
+     */
+    private final ZoneRules rules;
+
+    /**
+     * Создание преобразования для часового пояса сервера.
+     */
+    public LocalDateTimeCoercing() {
+        this(ZoneId.systemDefault());
+    }
+
+    /**
+     * Создание преобразования для часового пояса.
+     *
+     * @param zone часовой пояс, в котором хранятся значения.
+     */
+    public LocalDateTimeCoercing(final ZoneId zone) {
+        this.zone = zone;
+        this.rules = zone.getRules();
+    }
+
     @Override
     public @Nullable String serialize(
             @NotNull Object dataFetcherResult,
             @NotNull GraphQLContext graphQLContext,
             @NotNull Locale locale
     ) throws CoercingSerializeException {
-        SimpleDateFormat formatter =
-                new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX",
-                        Locale.ENGLISH);
-        return formatter.format(
-                Date.from(((LocalDateTime) dataFetcherResult)
-                        .atZone(ZoneId.systemDefault())
-                        .toInstant()));
+        if (!(dataFetcherResult instanceof LocalDateTime dateTime)) {
+            throw new CoercingSerializeException(
+                    "Expected LocalDateTime but was "
+                            + dataFetcherResult.getClass().getName());
+        }
+        return format(dateTime);
     }
 
     @Override
@@ -39,7 +97,16 @@ public class LocalDateTimeCoercing implements Coercing<LocalDateTime, String> {
             @NotNull GraphQLContext graphQLContext,
             @NotNull Locale locale
     ) throws CoercingParseValueException {
-        return LocalDateTime.parse((String) input);
+        if (!(input instanceof String text)) {
+            throw new CoercingParseValueException(
+                    "Expected String but was " + input.getClass().getName());
+        }
+        try {
+            return parse(text);
+        } catch (DateTimeParseException e) {
+            throw new CoercingParseValueException(
+                    "Invalid LocalDateTime: " + text, e);
+        }
     }
 
     @Override
@@ -49,6 +116,92 @@ public class LocalDateTimeCoercing implements Coercing<LocalDateTime, String> {
             @NotNull GraphQLContext graphQLContext,
             @NotNull Locale locale
     ) throws CoercingParseLiteralException {
-        return LocalDateTime.parse(((StringValue) input).getValue());
+        if (!(input instanceof StringValue value)) {
+            throw new CoercingParseLiteralException(
+                    "Expected StringValue but was "
+                            + input.getClass().getSimpleName());
+        }
+        try {
+            return parse(value.getValue());
+        } catch (DateTimeParseException e) {
+            throw new CoercingParseLiteralException(
+                    "Invalid LocalDateTime: " + value.getValue(), e);
+        }
+    }
+
+    /**
+     * Вывод значения. Поля записываются напрямую, смещение берется
+     * из правил часового пояса; неоднозначное время при переводе
+     * часов и годы вне 0000-9999 выводятся через форматтер.
+     *
+     * @param dateTime значение.
+     * @return строковое представление.
+     */
+    private String format(final LocalDateTime dateTime) {
+        List<ZoneOffset> offsets = rules.getValidOffsets(dateTime);
+        int year = dateTime.getYear();
+        if (offsets.size() != 1 || year < 0 || year > 9999) {
+            return OUTPUT_FORMATTER.format(dateTime.atZone(zone));
+        }
+        ZoneOffset offset = offsets.get(0);
+        StringBuilder result = new StringBuilder(OUTPUT_LENGTH + 6);
+        appendPadded(result, year, 4).append('-');
+        appendPadded(result, dateTime.getMonthValue(), 2).append('-');
+        appendPadded(result, dateTime.getDayOfMonth(), 2).append('T');
+        appendPadded(result, dateTime.getHour(), 2).append(':');
+        appendPadded(result, dateTime.getMinute(), 2).append(':');
+        appendPadded(result, dateTime.getSecond(), 2).append('.');
+        appendPadded(result, dateTime.getNano() / 1_000_000, 3);
+        int seconds = offset.getTotalSeconds();
+        if (seconds == 0) {
+            return result.append('Z').toString();
+        }
+        result.append(seconds < 0 ? '-' : '+');
+        seconds = Math.abs(seconds);
+        appendPadded(result, seconds / 3600, 2).append(':');
+        appendPadded(result, seconds / 60 % 60, 2);
+        return result.toString();
+    }
+
+    /**
+     * Разбор значения в формате REST API или ISO.
+     *
+     * @param text строковое представление.
+     * @return значение в часовом поясе сервера.
+     * @throws DateTimeParseException неверный формат.
+     */
+    private LocalDateTime parse(final String text) {
+        if (text.length() == REST_LENGTH && text.charAt(10) == ' ') {
+            return LocalDateTime.parse(text, REST_FORMATTER);
+        }
+        TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parse(text);
+        LocalDateTime dateTime = LocalDateTime.from(parsed);
+        if (!parsed.isSupported(ChronoField.OFFSET_SECONDS)) {
+            return dateTime;
+        }
+        return OffsetDateTime.of(dateTime, ZoneOffset.from(parsed))
+                .atZoneSameInstant(zone)
+                .toLocalDateTime();
+    }
+
+    /**
+     * Служебный метод записи числа с ведущими нулями.
+     *
+     * @param result строка результата.
+     * @param value  неотрицательное число.
+     * @param width  количество цифр.
+     * @return строка результата.
+     */
+    private static StringBuilder appendPadded(final StringBuilder result,
+                                              final int value,
+                                              final int width) {
+        int digits = 1;
+        for (int rest = value; rest >= 10; rest /= 10) {
+            digits++;
+        }
+        for (int i = digits; i < width; i++) {
+            result.append('0');
+        }
+        return result.append(value);
     }
 }
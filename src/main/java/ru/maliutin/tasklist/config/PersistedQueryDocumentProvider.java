@@ -0,0 +1,177 @@
+package ru.maliutin.tasklist.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.PersistedQueryError;
+import graphql.execution.preparsed.persisted.PersistedQueryIdInvalid;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Кеш разобранных и проверенных по схеме запросов GraphQL
+ * с поддержкой сохраненных запросов (протокол Apollo APQ).
+ * Клиент передает в extensions.persistedQuery.sha256Hash хеш SHA-256
+ * текста запроса; поле query может быть пустым (или PersistedQueryMarker),
+ * тогда запрос берется из реестра или из кеша по хешу. Если запрос
+ * неизвестен, возвращается ошибка PersistedQueryNotFound и клиент
+ * повторяет запрос вместе с текстом.
+ * Запросы без хеша кешируются по хешу их текста.
+ */
+public class PersistedQueryDocumentProvider
+        implements PreparsedDocumentProvider {
+    /**
+     * Поле с разобранными и проверенными запросами по хешу текста.
+     */
+    private final Cache<String, PreparsedDocumentEntry> documents;
+    /**
+     * Поле с зарегистрированными запросами: хеш - текст запроса.
+     */
+    private final Map<String, String> registry;
+    /**
+     * Поле с признаком выполнения только зарегистрированных запросов.
+     */
+    private final boolean registeredOnly;
+
+    /**
+     * Создание кеша запросов.
+     *
+     * @param cacheSize      максимальное количество запросов в кеше.
+     * @param registry       зарегистрированные запросы: хеш - текст.
+     * @param registeredOnly выполнение только зарегистрированных запросов.
+     */
+    public PersistedQueryDocumentProvider(final long cacheSize,
+                                          final Map<String, String> registry,
+                                          final boolean registeredOnly) {
+        this.documents = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+        this.registry = Map.copyOf(registry);
+        this.registeredOnly = registeredOnly;
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(
+            final ExecutionInput executionInput,
+            final Function<ExecutionInput, PreparsedDocumentEntry>
+                    parseAndValidateFunction) {
+        String hash = persistedQueryHash(executionInput.getExtensions());
+        String query = executionInput.getQuery();
+        boolean hasQuery = query != null && !query.isBlank()
+                && !PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query);
+        if (hash == null) {
+            if (!hasQuery) {
+                return error("Query is required");
+            }
+            if (registeredOnly) {
+                return error("Only registered persisted queries are allowed");
+            }
+            hash = sha256(query);
+        } else if (hasQuery) {
+            if (!hash.equalsIgnoreCase(sha256(query))) {
+                PersistedQueryIdInvalid invalid =
+                        new PersistedQueryIdInvalid(hash);
+                return error(invalid, invalid.getExtensions());
+            }
+            hash = hash.toLowerCase();
+        } else {
+            hash = hash.toLowerCase();
+            query = registry.get(hash);
+            if (query == null) {
+                PreparsedDocumentEntry entry = documents.getIfPresent(hash);
+                return entry != null ? entry : notFound(hash);
+            }
+        }
+        if (registeredOnly && !registry.containsKey(hash)) {
+            return notFound(hash);
+        }
+        String text = query;
+        return documents.get(hash, key ->
+                parseAndValidateFunction.apply(executionInput.transform(
+                        builder -> builder.query(text))));
+    }
+
+    /**
+     * Вычисление хеша SHA-256 текста запроса.
+     *
+     * @param query текст запроса.
+     * @return хеш в шестнадцатеричном виде.
+     */
+    public static String sha256(final String query) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest
+                    .getInstance("SHA-256")
+                    .digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Служебный метод получения хеша сохраненного запроса из extensions.
+     *
+     * @param extensions расширения запроса GraphQL.
+     * @return хеш запроса или null.
+     */
+    private static String persistedQueryHash(
+            final Map<String, Object> extensions) {
+        if (extensions == null
+                || !(extensions.get("persistedQuery") instanceof Map<?, ?>
+                persistedQuery)) {
+            return null;
+        }
+        return persistedQuery.get("sha256Hash") instanceof String hash
+                ? hash : null;
+    }
+
+    /**
+     * Служебный метод создания результата с ошибкой запроса.
+     *
+     * @param message сообщение об ошибке.
+     * @return результат разбора с ошибкой.
+     */
+    private static PreparsedDocumentEntry error(final String message) {
+        return new PreparsedDocumentEntry(
+                GraphqlErrorBuilder.newError().message(message).build());
+    }
+
+    /**
+     * Служебный метод создания результата с ошибкой сохраненного запроса.
+     * Тип ошибки и extensions (classification) соответствуют протоколу APQ,
+     * по ним клиент определяет, что запрос нужно повторить с текстом.
+     *
+     * @param persistedQueryError ошибка сохраненного запроса.
+     * @param extensions          extensions ошибки.
+     * @return результат разбора с ошибкой.
+     */
+    private static PreparsedDocumentEntry error(
+            final PersistedQueryError persistedQueryError,
+            final Map<String, Object> extensions) {
+        return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError()
+                .message(persistedQueryError.getMessage())
+                .errorType(persistedQueryError)
+                .extensions(extensions)
+                .build());
+    }
+
+    /**
+     * Служебный метод создания результата с ошибкой PersistedQueryNotFound.
+     *
+     * @param hash хеш запроса.
+     * @return результат разбора с ошибкой.
+     */
+    private static PreparsedDocumentEntry notFound(final String hash) {
+        PersistedQueryNotFound notFound = new PersistedQueryNotFound(hash);
+        return error(notFound, notFound.getExtensions());
+    }
+}
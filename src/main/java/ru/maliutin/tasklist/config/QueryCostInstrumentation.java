@@ -0,0 +1,169 @@
+package ru.maliutin.tasklist.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionResult;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import ru.maliutin.tasklist.service.props.GraphqlLimitsProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Ограничение стоимости запросов GraphQL.
+ * Стоимость запроса считается по модели стоимости полей до выполнения
+ * запроса; запрос отклоняется, если его стоимость больше максимальной
+ * или больше оставшегося бюджета пользователя.
+ * Бюджет учитывается отдельно на каждом узле.
+ */
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+    /**
+     * Ключ пользователя в контексте запроса GraphQL.
+     */
+    public static final String USER_KEY = "queryCostUser";
+
+    /**
+     * Модель стоимости поля.
+     */
+    @FunctionalInterface
+    public interface FieldCost {
+        /**
+         * Стоимость поля вместе с вложенными полями.
+         *
+         * @param field     поле запроса.
+         * @param childCost суммарная стоимость вложенных полей.
+         * @return стоимость поля.
+         */
+        long cost(QueryVisitorFieldEnvironment field, long childCost);
+    }
+
+    /**
+     * Поле с моделью стоимости полей.
+     */
+    private final FieldCost fieldCost;
+    /**
+     * Поле с максимальной стоимостью одного запроса.
+     */
+    private final long maxCost;
+    /**
+     * Поле с настройками бюджета пользователя.
+     */
+    private final GraphqlLimitsProperties.Budget budget;
+    /**
+     * Поле с бюджетами пользователей по ключу пользователя.
+     */
+    private final Cache<String, Bucket> buckets;
+
+    /**
+     * Создание ограничения стоимости запросов.
+     *
+     * @param fieldCost  модель стоимости полей.
+     * @param properties настройки ограничений.
+     */
+    public QueryCostInstrumentation(final FieldCost fieldCost,
+                                    final GraphqlLimitsProperties properties) {
+        this.fieldCost = fieldCost;
+        this.maxCost = properties.getMaxCost();
+        this.budget = properties.getBudget();
+        // Бюджет неактивного пользователя полностью восстанавливается
+        // за refillPeriod, поэтому хранить его дольше не нужно.
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(budget.getMaxUsers())
+                .expireAfterAccess(budget.getRefillPeriod())
+                .build();
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            final InstrumentationExecuteOperationParameters parameters,
+            final InstrumentationState state) {
+        ExecutionContext context = parameters.getExecutionContext();
+        long cost = calculate(context);
+        if (cost > maxCost) {
+            throw new AbortExecutionException("Query cost " + cost
+                    + " exceeds maximum cost " + maxCost);
+        }
+        String user = context.getGraphQLContext().get(USER_KEY);
+        if (user != null && !buckets.get(user, key -> new Bucket())
+                .tryConsume(cost)) {
+            throw new AbortExecutionException("Query cost " + cost
+                    + " exceeds remaining budget, retry later");
+        }
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    /**
+     * Служебный метод расчета стоимости запроса: поля обходятся
+     * от вложенных к корневым, стоимость вложенных полей
+     * суммируется по родительскому полю.
+     *
+     * @param context контекст выполнения запроса.
+     * @return стоимость запроса.
+     */
+    private long calculate(final ExecutionContext context) {
+        QueryTraverser traverser = QueryTraverser.newQueryTraverser()
+                .schema(context.getGraphQLSchema())
+                .document(context.getDocument())
+                .operationName(context.getExecutionInput().getOperationName())
+                .coercedVariables(context.getCoercedVariables())
+                .build();
+        // Ключ null - корневые поля операции.
+        Map<QueryVisitorFieldEnvironment, Long> childCosts = new HashMap<>();
+        traverser.visitPostOrder(new QueryVisitorStub() {
+            @Override
+            public void visitField(final QueryVisitorFieldEnvironment field) {
+                if (field.isTypeNameIntrospectionField()) {
+                    return;
+                }
+                long cost = fieldCost.cost(field,
+                        childCosts.getOrDefault(field, 0L));
+                childCosts.merge(field.getParentEnvironment(), cost,
+                        Long::sum);
+            }
+        });
+        return childCosts.getOrDefault(null, 0L);
+    }
+
+    /**
+     * Бюджет пользователя: запас стоимости восстанавливается
+     * равномерно до capacity за refillPeriod.
+     */
+    private final class Bucket {
+        /**
+         * Оставшийся запас стоимости.
+         */
+        private double tokens = budget.getCapacity();
+        /**
+         * Время последнего восстановления запаса (нс).
+         */
+        private long refilledAt = System.nanoTime();
+
+        /**
+         * Списание стоимости запроса из запаса.
+         *
+         * @param cost стоимость запроса.
+         * @return true - если запаса достаточно, иначе false.
+         */
+        synchronized boolean tryConsume(final long cost) {
+            long now = System.nanoTime();
+            tokens = Math.min(budget.getCapacity(), tokens
+                    + (double) (now - refilledAt) * budget.getCapacity()
+                    / budget.getRefillPeriod().toNanos());
+            refilledAt = now;
+            if (tokens < cost) {
+                return false;
+            }
+            tokens -= cost;
+            return true;
+        }
+    }
+}
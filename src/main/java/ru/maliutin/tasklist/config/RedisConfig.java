@@ -0,0 +1,28 @@
+package ru.maliutin.tasklist.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Конфигурация обмена сообщениями между узлами приложения через Redis.
+ */
+@Configuration
+public class RedisConfig {
+
+    /**
+     * Бин контейнера подписок на каналы Redis (pub/sub).
+     *
+     * @param connectionFactory фабрика соединений с Redis.
+     * @return контейнер подписок.
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            final RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container =
+                new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
@@ -0,0 +1,144 @@
+package ru.maliutin.tasklist.config.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Чтение значений, записанных BinaryWriter.
+ * Использование: в цикле nextField() получить номер поля
+ * и прочитать значение методом нужного типа,
+ * неизвестные поля пропустить методом skip().
+ */
+public final class BinaryReader {
+
+    private final byte[] buffer;
+    private int position;
+    private int type;
+
+    /**
+     * Конструктор чтения части массива.
+     *
+     * @param buffer   массив байт.
+     * @param position позиция начала данных.
+     */
+    public BinaryReader(final byte[] buffer, final int position) {
+        this.buffer = buffer;
+        this.position = position;
+    }
+
+    /**
+     * Переход к следующему полю.
+     *
+     * @return номер поля или -1, если данные закончились.
+     */
+    public int nextField() {
+        if (position >= buffer.length) {
+            return -1;
+        }
+        long header = readVarint();
+        type = (int) (header & 0x7);
+        return (int) (header >>> 3);
+    }
+
+    /**
+     * Чтение целого числа.
+     *
+     * @return значение.
+     */
+    public long readLong() {
+        long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Чтение логического значения.
+     *
+     * @return значение.
+     */
+    public boolean readBoolean() {
+        return readVarint() != 0;
+    }
+
+    /**
+     * Чтение строки.
+     *
+     * @return значение.
+     */
+    public String readString() {
+        int length = (int) readVarint();
+        checkAvailable(length);
+        String value = new String(buffer, position, length,
+                StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Чтение значения перечисления по имени.
+     *
+     * @param type класс перечисления.
+     * @param <E>  тип перечисления.
+     * @return значение или null, если значение неизвестно.
+     */
+    public <E extends Enum<E>> E readEnum(final Class<E> type) {
+        String name = readString();
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Чтение даты и времени по секундам от начала эпохи.
+     *
+     * @param epochSecond секунды от начала эпохи.
+     * @param nano        наносекунды.
+     * @return значение.
+     */
+    public static LocalDateTime toDateTime(final long epochSecond,
+                                           final long nano) {
+        return LocalDateTime.ofEpochSecond(epochSecond, (int) nano,
+                ZoneOffset.UTC);
+    }
+
+    /**
+     * Пропуск значения текущего поля.
+     */
+    public void skip() {
+        if (type == BinaryWriter.VARINT) {
+            readVarint();
+        } else if (type == BinaryWriter.BYTES) {
+            int length = (int) readVarint();
+            checkAvailable(length);
+            position += length;
+        } else {
+            throw new IllegalStateException("Unknown field type " + type);
+        }
+    }
+
+    /**
+     * Чтение числа переменной длины без заголовка поля.
+     *
+     * @return значение.
+     */
+    public long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            checkAvailable(1);
+            byte b = buffer[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    private void checkAvailable(final int length) {
+        if (length < 0 || position + length > buffer.length) {
+            throw new IllegalStateException("Unexpected end of data");
+        }
+    }
+}
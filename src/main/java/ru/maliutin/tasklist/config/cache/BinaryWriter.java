@@ -0,0 +1,191 @@
+package ru.maliutin.tasklist.config.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Запись значений в компактном двоичном формате.
+ * Каждое поле записывается с заголовком: номер поля и тип записи
+ * (число переменной длины или данные с длиной), поэтому при чтении
+ * неизвестные поля пропускаются, а отсутствующие получают
+ * значение по умолчанию. Пустые (null) поля не записываются.
+ */
+public final class BinaryWriter {
+    /**
+     * Тип записи: число переменной длины.
+     */
+    static final int VARINT = 0;
+    /**
+     * Тип записи: данные с длиной.
+     */
+    static final int BYTES = 2;
+
+    private byte[] buffer;
+    private int size;
+
+    /**
+     * Конструктор с начальным размером буфера.
+     *
+     * @param capacity начальный размер буфера в байтах.
+     */
+    public BinaryWriter(final int capacity) {
+        this.buffer = new byte[capacity];
+    }
+
+    /**
+     * Запись целого числа.
+     *
+     * @param field номер поля.
+     * @param value значение.
+     */
+    public void writeLong(final int field, final long value) {
+        writeHeader(field, VARINT);
+        writeVarint(zigZag(value));
+    }
+
+    /**
+     * Запись логического значения.
+     *
+     * @param field номер поля.
+     * @param value значение.
+     */
+    public void writeBoolean(final int field, final boolean value) {
+        writeHeader(field, VARINT);
+        writeVarint(value ? 1 : 0);
+    }
+
+    /**
+     * Запись строки в кодировке UTF-8.
+     *
+     * @param field номер поля.
+     * @param value значение (null не записывается).
+     */
+    public void writeString(final int field, final String value) {
+        if (value == null) {
+            return;
+        }
+        writeHeader(field, BYTES);
+        writeRaw(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Запись значения перечисления по имени
+     * (порядок значений перечисления может меняться).
+     *
+     * @param field номер поля.
+     * @param value значение (null не записывается).
+     */
+    public void writeEnum(final int field, final Enum<?> value) {
+        if (value != null) {
+            writeString(field, value.name());
+        }
+    }
+
+    /**
+     * Запись даты и времени: секунды от начала эпохи
+     * и, если есть, наносекунды в следующем поле.
+     *
+     * @param field номер поля (занимает номера field и field + 1).
+     * @param value значение (null не записывается).
+     */
+    public void writeDateTime(final int field, final LocalDateTime value) {
+        if (value == null) {
+            return;
+        }
+        writeLong(field, value.toEpochSecond(ZoneOffset.UTC));
+        if (value.getNano() != 0) {
+            writeLong(field + 1, value.getNano());
+        }
+    }
+
+    /**
+     * Запись коллекции строк: каждая строка - повторяющееся поле.
+     *
+     * @param field  номер поля.
+     * @param values значения (null не записывается).
+     */
+    public void writeStrings(final int field,
+                             final Collection<String> values) {
+        if (values == null) {
+            return;
+        }
+        for (String value : values) {
+            writeString(field, value);
+        }
+    }
+
+    /**
+     * Запись коллекции значений перечисления.
+     *
+     * @param field  номер поля.
+     * @param values значения (null не записывается).
+     */
+    public void writeEnums(final int field,
+                           final Collection<? extends Enum<?>> values) {
+        if (values == null) {
+            return;
+        }
+        for (Enum<?> value : values) {
+            writeEnum(field, value);
+        }
+    }
+
+    /**
+     * Запись одного байта без заголовка поля.
+     *
+     * @param value значение.
+     */
+    public void writeByte(final byte value) {
+        ensure(1);
+        buffer[size++] = value;
+    }
+
+    /**
+     * Запись числа переменной длины без заголовка поля.
+     *
+     * @param value значение (неотрицательное).
+     */
+    public void writeVarint(final long value) {
+        long rest = value;
+        ensure(10);
+        while ((rest & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((rest & 0x7F) | 0x80);
+            rest >>>= 7;
+        }
+        buffer[size++] = (byte) rest;
+    }
+
+    /**
+     * Записанные данные.
+     *
+     * @return массив байт.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void writeHeader(final int field, final int type) {
+        writeVarint(((long) field << 3) | type);
+    }
+
+    private void writeRaw(final byte[] bytes) {
+        writeVarint(bytes.length);
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void ensure(final int length) {
+        if (size + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer,
+                    Math.max(buffer.length * 2, size + length));
+        }
+    }
+
+    private static long zigZag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
@@ -0,0 +1,50 @@
+package ru.maliutin.tasklist.config.cache;
+
+/**
+ * Кодек значений кеша одного типа для CompactCacheSerializer.
+ * Кодек записывает только поля значения, тип и версия схемы
+ * записываются сериализатором.
+ *
+ * @param <T> тип значения.
+ */
+public interface CacheValueCodec<T> {
+    /**
+     * Метка типа в закодированных данных, уникальная среди кодеков.
+     *
+     * @return метка типа.
+     */
+    int tag();
+
+    /**
+     * Версия схемы, с которой кодек записывает значения.
+     * Увеличивается, если меняется смысл существующих полей;
+     * добавление и удаление полей версию не меняет.
+     *
+     * @return версия схемы.
+     */
+    int version();
+
+    /**
+     * Класс значений, которые записывает кодек.
+     *
+     * @return класс значений.
+     */
+    Class<T> type();
+
+    /**
+     * Запись полей значения.
+     *
+     * @param value  значение.
+     * @param writer запись данных.
+     */
+    void write(T value, BinaryWriter writer);
+
+    /**
+     * Чтение значения.
+     *
+     * @param version версия схемы, с которой значение было записано.
+     * @param reader  чтение данных.
+     * @return значение.
+     */
+    T read(int version, BinaryReader reader);
+}
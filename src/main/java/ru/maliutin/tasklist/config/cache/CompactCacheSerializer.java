@@ -0,0 +1,174 @@
+package ru.maliutin.tasklist.config.cache;
+
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сериализатор значений кеша в компактный двоичный формат.
+ * Формат: байт MAGIC, метка типа, версия схемы, поля значения
+ * (см. BinaryWriter). Типы без кодека, а также чтение значений,
+ * записанных раньше стандартной сериализацией Java,
+ * выполняются через JdkSerializationRedisSerializer.
+ */
+public class CompactCacheSerializer implements RedisSerializer<Object> {
+    /**
+     * Первый байт данных в компактном формате
+     * (сериализация Java начинается с 0xAC).
+     */
+    static final byte MAGIC = (byte) 0xC1;
+
+    private static final int NULL_TAG = 1;
+    private static final int BOOLEAN_TAG = 2;
+    private static final int LONG_TAG = 3;
+    private static final int STRING_TAG = 4;
+    /**
+     * Массив long: количество элементов и разности соседних элементов
+     * (varint со знаком), для отсортированных идентификаторов
+     * разности занимают 1-2 байта.
+     */
+    private static final int LONG_ARRAY_TAG = 5;
+
+    /**
+     * Кодеки по классу значения.
+     */
+    private final Map<Class<?>, CacheValueCodec<?>> codecsByType =
+            new HashMap<>();
+    /**
+     * Кодеки по метке типа.
+     */
+    private final Map<Integer, CacheValueCodec<?>> codecsByTag =
+            new HashMap<>();
+    /**
+     * Сериализатор для типов без кодека.
+     */
+    private final JdkSerializationRedisSerializer fallback =
+            new JdkSerializationRedisSerializer();
+
+    /**
+     * Конструктор сериализатора.
+     *
+     * @param codecs кодеки значений.
+     */
+    public CompactCacheSerializer(final List<CacheValueCodec<?>> codecs) {
+        for (CacheValueCodec<?> codec : codecs) {
+            if (codec.tag() <= LONG_ARRAY_TAG
+                    || codecsByTag.put(codec.tag(), codec) != null) {
+                throw new IllegalStateException(
+                        "Duplicate cache codec tag " + codec.tag());
+            }
+            codecsByType.put(codec.type(), codec);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] serialize(final Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        BinaryWriter writer = new BinaryWriter(64);
+        writer.writeByte(MAGIC);
+        if (value instanceof NullValue) {
+            writer.writeVarint(NULL_TAG);
+            writer.writeVarint(1);
+        } else if (value instanceof Boolean booleanValue) {
+            writer.writeVarint(BOOLEAN_TAG);
+            writer.writeVarint(1);
+            writer.writeBoolean(1, booleanValue);
+        } else if (value instanceof Long longValue) {
+            writer.writeVarint(LONG_TAG);
+            writer.writeVarint(1);
+            writer.writeLong(1, longValue);
+        } else if (value instanceof String stringValue) {
+            writer.writeVarint(STRING_TAG);
+            writer.writeVarint(1);
+            writer.writeString(1, stringValue);
+        } else if (value instanceof long[] longs) {
+            writer.writeVarint(LONG_ARRAY_TAG);
+            writer.writeVarint(1);
+            writer.writeVarint(longs.length);
+            long previous = 0;
+            for (long element : longs) {
+                long delta = element - previous;
+                writer.writeVarint((delta << 1) ^ (delta >> 63));
+                previous = element;
+            }
+        } else {
+            CacheValueCodec<Object> codec = (CacheValueCodec<Object>)
+                    codecsByType.get(value.getClass());
+            if (codec == null) {
+                return fallback.serialize(value);
+            }
+            writer.writeVarint(codec.tag());
+            writer.writeVarint(codec.version());
+            codec.write(value, writer);
+        }
+        return writer.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(final byte[] bytes)
+            throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC || bytes.length < 2) {
+            return fallback.deserialize(bytes);
+        }
+        try {
+            BinaryReader reader = new BinaryReader(bytes, 1);
+            int tag = (int) reader.readVarint();
+            int version = (int) reader.readVarint();
+            return switch (tag) {
+                case NULL_TAG -> NullValue.INSTANCE;
+                case BOOLEAN_TAG -> reader.nextField() == 1
+                        && reader.readBoolean();
+                case LONG_TAG -> reader.nextField() == 1
+                        ? reader.readLong() : 0L;
+                case STRING_TAG -> reader.nextField() == 1
+                        ? reader.readString() : "";
+                case LONG_ARRAY_TAG -> readLongs(reader, bytes.length);
+                default -> {
+                    CacheValueCodec<?> codec = codecsByTag.get(tag);
+                    if (codec == null) {
+                        throw new SerializationException(
+                                "Unknown cache value type " + tag);
+                    }
+                    yield codec.read(version, reader);
+                }
+            };
+        } catch (IllegalStateException e) {
+            throw new SerializationException(
+                    "Cannot decode cache value: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Служебный метод чтения массива long.
+     *
+     * @param reader данные после версии схемы.
+     * @param size   размер данных (каждый элемент занимает хотя бы байт).
+     * @return массив.
+     */
+    private static long[] readLongs(final BinaryReader reader,
+                                    final int size) {
+        long length = reader.readVarint();
+        if (length < 0 || length > size) {
+            throw new IllegalStateException("Malformed array length");
+        }
+        long[] longs = new long[(int) length];
+        long previous = 0;
+        for (int i = 0; i < length; i++) {
+            long delta = reader.readVarint();
+            previous += (delta >>> 1) ^ -(delta & 1);
+            longs[i] = previous;
+        }
+        return longs;
+    }
+}
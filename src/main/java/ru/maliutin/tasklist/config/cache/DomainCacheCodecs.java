@@ -0,0 +1,274 @@
+package ru.maliutin.tasklist.config.cache;
+
+import org.hibernate.Hibernate;
+import ru.maliutin.tasklist.domain.task.Status;
+import ru.maliutin.tasklist.domain.task.Task;
+import ru.maliutin.tasklist.domain.user.Role;
+import ru.maliutin.tasklist.domain.user.User;
+import ru.maliutin.tasklist.domain.user.UserIdentity;
+import ru.maliutin.tasklist.domain.user.UserProfile;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Кодеки доменных моделей, хранящихся в кеше.
+ * Номера полей после выпуска не меняются и не переиспользуются:
+ * новые поля получают новые номера, удаленные - просто не пишутся.
+ */
+public final class DomainCacheCodecs {
+
+    private DomainCacheCodecs() {
+    }
+
+    /**
+     * Кодеки всех доменных моделей.
+     *
+     * @return список кодеков.
+     */
+    public static List<CacheValueCodec<?>> all() {
+        return List.of(new TaskCodec(), new UserCodec(),
+                new UserIdentityCodec(), new UserProfileCodec());
+    }
+
+    /**
+     * Кодек задачи.
+     */
+    static final class TaskCodec implements CacheValueCodec<Task> {
+
+        @Override
+        public int tag() {
+            return 10;
+        }
+
+        @Override
+        public int version() {
+            return 1;
+        }
+
+        @Override
+        public Class<Task> type() {
+            return Task.class;
+        }
+
+        @Override
+        public void write(final Task task, final BinaryWriter writer) {
+            writer.writeLong(1, task.getId());
+            writer.writeString(2, task.getTitle());
+            writer.writeString(3, task.getDescription());
+            writer.writeEnum(4, task.getStatus());
+            writer.writeDateTime(5, task.getExpirationDate());
+            // Поле 6 занято наносекундами даты.
+            // Незагруженная коллекция изображений не записывается.
+            if (Hibernate.isInitialized(task.getImages())) {
+                writer.writeBoolean(7, true);
+                writer.writeStrings(8, task.getImages());
+            }
+        }
+
+        @Override
+        public Task read(final int version, final BinaryReader reader) {
+            Task task = new Task();
+            long epochSecond = 0;
+            long nano = 0;
+            boolean hasDate = false;
+            List<String> images = null;
+            int field;
+            while ((field = reader.nextField()) != -1) {
+                switch (field) {
+                    case 1 -> task.setId(reader.readLong());
+                    case 2 -> task.setTitle(reader.readString());
+                    case 3 -> task.setDescription(reader.readString());
+                    case 4 -> task.setStatus(reader.readEnum(Status.class));
+                    case 5 -> {
+                        epochSecond = reader.readLong();
+                        hasDate = true;
+                    }
+                    case 6 -> {
+                        nano = reader.readLong();
+                    }
+                    case 7 -> {
+                        reader.readBoolean();
+                        images = new ArrayList<>();
+                    }
+                    case 8 -> {
+                        if (images == null) {
+                            images = new ArrayList<>();
+                        }
+                        images.add(reader.readString());
+                    }
+                    default -> reader.skip();
+                }
+            }
+            if (hasDate) {
+                task.setExpirationDate(
+                        BinaryReader.toDateTime(epochSecond, nano));
+            }
+            task.setImages(images);
+            return task;
+        }
+    }
+
+    /**
+     * Кодек пользователя.
+     */
+    static final class UserCodec implements CacheValueCodec<User> {
+
+        @Override
+        public int tag() {
+            return 11;
+        }
+
+        @Override
+        public int version() {
+            return 1;
+        }
+
+        @Override
+        public Class<User> type() {
+            return User.class;
+        }
+
+        @Override
+        public void write(final User user, final BinaryWriter writer) {
+            writer.writeLong(1, user.getId());
+            writer.writeString(2, user.getName());
+            writer.writeString(3, user.getUsername());
+            writer.writeString(4, user.getPassword());
+            writer.writeEnums(5, user.getRoles());
+        }
+
+        @Override
+        public User read(final int version, final BinaryReader reader) {
+            User user = new User();
+            Set<Role> roles = EnumSet.noneOf(Role.class);
+            int field;
+            while ((field = reader.nextField()) != -1) {
+                switch (field) {
+                    case 1 -> user.setId(reader.readLong());
+                    case 2 -> user.setName(reader.readString());
+                    case 3 -> user.setUsername(reader.readString());
+                    case 4 -> user.setPassword(reader.readString());
+                    case 5 -> addRole(roles, reader);
+                    default -> reader.skip();
+                }
+            }
+            user.setRoles(roles);
+            return user;
+        }
+    }
+
+    /**
+     * Кодек данных пользователя для аутентификации.
+     */
+    static final class UserIdentityCodec
+            implements CacheValueCodec<UserIdentity> {
+
+        @Override
+        public int tag() {
+            return 12;
+        }
+
+        @Override
+        public int version() {
+            return 1;
+        }
+
+        @Override
+        public Class<UserIdentity> type() {
+            return UserIdentity.class;
+        }
+
+        @Override
+        public void write(final UserIdentity identity,
+                          final BinaryWriter writer) {
+            writer.writeLong(1, identity.getId());
+            writer.writeString(2, identity.getUsername());
+            writer.writeString(3, identity.getName());
+            writer.writeString(4, identity.getPassword());
+            writer.writeEnums(5, identity.getRoles());
+        }
+
+        @Override
+        public UserIdentity read(final int version,
+                                 final BinaryReader reader) {
+            UserIdentity identity = new UserIdentity();
+            Set<Role> roles = EnumSet.noneOf(Role.class);
+            int field;
+            while ((field = reader.nextField()) != -1) {
+                switch (field) {
+                    case 1 -> identity.setId(reader.readLong());
+                    case 2 -> identity.setUsername(reader.readString());
+                    case 3 -> identity.setName(reader.readString());
+                    case 4 -> identity.setPassword(reader.readString());
+                    case 5 -> addRole(roles, reader);
+                    default -> reader.skip();
+                }
+            }
+            identity.setRoles(roles);
+            return identity;
+        }
+    }
+
+    /**
+     * Кодек профиля пользователя.
+     */
+    static final class UserProfileCodec
+            implements CacheValueCodec<UserProfile> {
+
+        @Override
+        public int tag() {
+            return 13;
+        }
+
+        @Override
+        public int version() {
+            return 1;
+        }
+
+        @Override
+        public Class<UserProfile> type() {
+            return UserProfile.class;
+        }
+
+        @Override
+        public void write(final UserProfile profile,
+                          final BinaryWriter writer) {
+            writer.writeLong(1, profile.getId());
+            writer.writeString(2, profile.getName());
+            writer.writeString(3, profile.getUsername());
+        }
+
+        @Override
+        public UserProfile read(final int version,
+                                final BinaryReader reader) {
+            UserProfile profile = new UserProfile();
+            int field;
+            while ((field = reader.nextField()) != -1) {
+                switch (field) {
+                    case 1 -> profile.setId(reader.readLong());
+                    case 2 -> profile.setName(reader.readString());
+                    case 3 -> profile.setUsername(reader.readString());
+                    default -> reader.skip();
+                }
+            }
+            return profile;
+        }
+    }
+
+    /**
+     * Служебный метод чтения роли, неизвестные роли пропускаются.
+     *
+     * @param roles  роли пользователя.
+     * @param reader чтение данных.
+     */
+    private static void addRole(final Set<Role> roles,
+                                final BinaryReader reader) {
+        Role role = reader.readEnum(Role.class);
+        if (role != null) {
+            roles.add(role);
+        }
+    }
+}
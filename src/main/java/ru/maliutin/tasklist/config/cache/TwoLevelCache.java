@@ -0,0 +1,229 @@
+package ru.maliutin.tasklist.config.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Двухуровневый кеш: локальный кеш узла (L1) перед кешем Redis (L2).
+ * Чтение сначала выполняется из L1, при промахе - из Redis
+ * с сохранением значения в L1. Запись и удаление выполняются в обоих
+ * уровнях, остальные узлы удаляют запись из своего L1 по сообщению
+ * из канала Redis pub/sub.
+ * Значения из L1 возвращаются без копирования,
+ * поэтому изменять полученные из кеша объекты нельзя.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+    /**
+     * Название кеша.
+     */
+    private final String name;
+    /**
+     * Локальный кеш узла. Ключ - строковое представление ключа,
+     * как и в Redis, поэтому ключи из сообщений об удалении
+     * совпадают с ключами локального кеша.
+     */
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object>
+            local;
+    /**
+     * Кеш Redis.
+     */
+    private final Cache remote;
+    /**
+     * Менеджер кешей, рассылающий сообщения об удалении записей.
+     */
+    private final TwoLevelCacheManager manager;
+    /**
+     * Счетчик удалений из локального кеша. Значение, прочитанное из Redis,
+     * не сохраняется в L1, если за время чтения запись была удалена.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final Counter localHits;
+    private final Counter remoteHits;
+    private final Counter misses;
+    private final Timer remoteLatency;
+
+    /**
+     * Конструктор двухуровневого кеша.
+     *
+     * @param name     название кеша.
+     * @param local    локальный кеш узла.
+     * @param remote   кеш Redis.
+     * @param manager  менеджер кешей.
+     * @param registry реестр метрик.
+     */
+    public TwoLevelCache(
+            final String name,
+            final com.github.benmanes.caffeine.cache.Cache<String, Object>
+                    local,
+            final Cache remote,
+            final TwoLevelCacheManager manager,
+            final MeterRegistry registry) {
+        super(true);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.manager = manager;
+        this.localHits = gets(registry, "l1_hit");
+        this.remoteHits = gets(registry, "l2_hit");
+        this.misses = gets(registry, "miss");
+        this.remoteLatency = Timer.builder("cache.tiered.l2.latency")
+                .description("Redis cache read latency")
+                .tag("cache", name)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    protected Object lookup(final Object key) {
+        String localKey = key.toString();
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            localHits.increment();
+            return value;
+        }
+        long invalidation = invalidations.get();
+        long start = System.nanoTime();
+        ValueWrapper wrapper;
+        try {
+            wrapper = remote.get(key);
+        } catch (SerializationException e) {
+            // Значение в неизвестном формате (например, записанное
+            // другой версией приложения) считается отсутствующим.
+            remote.evict(key);
+            wrapper = null;
+        }
+        remoteLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (wrapper == null) {
+            misses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        Object storeValue = toStoreValue(wrapper.get());
+        putLocal(localKey, storeValue, invalidation);
+        return storeValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        long invalidation = invalidations.get();
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        remote.put(key, value);
+        putLocal(key.toString(), toStoreValue(value), invalidation);
+        return value;
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        remote.put(key, value);
+        String localKey = key.toString();
+        invalidations.incrementAndGet();
+        local.put(localKey, toStoreValue(value));
+        manager.publishEvict(name, localKey);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(final Object key, final Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        String localKey = key.toString();
+        invalidations.incrementAndGet();
+        local.put(localKey, toStoreValue(
+                existing == null ? value : existing.get()));
+        if (existing == null) {
+            manager.publishEvict(name, localKey);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(final Object key) {
+        remote.evict(key);
+        String localKey = key.toString();
+        evictLocal(localKey);
+        manager.publishEvict(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        clearLocal();
+        manager.publishClear(name);
+    }
+
+    /**
+     * Удаление записи только из локального кеша узла
+     * (по сообщению от другого узла).
+     *
+     * @param localKey строковое представление ключа.
+     */
+    void evictLocal(final String localKey) {
+        invalidations.incrementAndGet();
+        local.invalidate(localKey);
+    }
+
+    /**
+     * Очистка только локального кеша узла (по сообщению от другого узла).
+     */
+    void clearLocal() {
+        invalidations.incrementAndGet();
+        local.invalidateAll();
+    }
+
+    /**
+     * Служебный метод сохранения значения в локальный кеш,
+     * если с момента начала чтения записи не удалялись.
+     *
+     * @param localKey     строковое представление ключа.
+     * @param storeValue   значение.
+     * @param invalidation значение счетчика удалений до начала чтения.
+     */
+    private void putLocal(final String localKey, final Object storeValue,
+                          final long invalidation) {
+        if (invalidations.get() == invalidation) {
+            local.put(localKey, storeValue);
+        }
+    }
+
+    /**
+     * Служебный метод регистрации счетчика обращений к кешу.
+     *
+     * @param registry реестр метрик.
+     * @param result   результат обращения (l1_hit, l2_hit, miss).
+     * @return счетчик.
+     */
+    private Counter gets(final MeterRegistry registry, final String result) {
+        return Counter.builder("cache.tiered.gets")
+                .description("Two-level cache lookups")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(registry);
+    }
+}
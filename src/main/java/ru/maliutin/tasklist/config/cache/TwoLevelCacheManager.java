@@ -0,0 +1,179 @@
+package ru.maliutin.tasklist.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import ru.maliutin.tasklist.service.props.CacheProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Менеджер двухуровневых кешей (TwoLevelCache).
+ * Оборачивает кеши Redis локальными кешами узла и рассылает остальным
+ * узлам сообщения об удалении записей через канал Redis pub/sub.
+ * Формат сообщения: "идентификатор узла\nназвание кеша\nE ключ"
+ * для удаления записи и "идентификатор узла\nназвание кеша\nC"
+ * для очистки кеша.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+    /**
+     * Канал оповещения узлов об удалении записей кеша.
+     */
+    static final String CHANNEL = "cache:invalidate";
+
+    /**
+     * Менеджер кешей Redis (L2).
+     */
+    private final CacheManager remoteCacheManager;
+    /**
+     * Настройки кеширования.
+     */
+    private final CacheProperties cacheProperties;
+    /**
+     * Поле с клиентом Redis.
+     */
+    private final StringRedisTemplate redisTemplate;
+    /**
+     * Поле с контейнером подписок на каналы Redis.
+     */
+    private final RedisMessageListenerContainer listenerContainer;
+    /**
+     * Реестр метрик.
+     */
+    private final MeterRegistry meterRegistry;
+    /**
+     * Идентификатор узла, собственные сообщения узел пропускает.
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+    /**
+     * Созданные кеши по названию.
+     */
+    private final Map<String, TwoLevelCache> caches =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Подписка на канал удаления записей кеша.
+     */
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @Override
+    public Cache getCache(final String name) {
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, cacheName ->
+                new TwoLevelCache(cacheName, createLocal(cacheName), remote,
+                        this, meterRegistry));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * Оповещение остальных узлов об удалении записи.
+     *
+     * @param cacheName название кеша.
+     * @param key       строковое представление ключа.
+     */
+    void publishEvict(final String cacheName, final String key) {
+        publish(cacheName + "\nE" + key);
+    }
+
+    /**
+     * Оповещение остальных узлов об очистке кеша.
+     *
+     * @param cacheName название кеша.
+     */
+    void publishClear(final String cacheName) {
+        publish(cacheName + "\nC");
+    }
+
+    /**
+     * Обработка сообщения об удалении записи от другого узла.
+     *
+     * @param message сообщение.
+     * @param pattern канал.
+     */
+    @Override
+    public void onMessage(final Message message, final byte[] pattern) {
+        String[] parts = new String(message.getBody(),
+                StandardCharsets.UTF_8).split("\n", 3);
+        if (parts.length < 3 || nodeId.equals(parts[0])
+                || parts[2].isEmpty()) {
+            return;
+        }
+        // Кеш, который узел еще не создал, не содержит записей.
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (parts[2].charAt(0) == 'C') {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(parts[2].substring(1));
+        }
+    }
+
+    /**
+     * Служебный метод создания локального кеша узла.
+     * Запись живет в локальном кеше не дольше, чем в Redis.
+     *
+     * @param cacheName название кеша.
+     * @return локальный кеш.
+     */
+    private com.github.benmanes.caffeine.cache.Cache<String, Object>
+    createLocal(final String cacheName) {
+        CacheProperties.Region region = cacheProperties.resolve(cacheName);
+        Duration ttl = cacheProperties.getLocalTtl();
+        if (!region.getTtl().isZero() && region.getTtl().compareTo(ttl) < 0) {
+            ttl = region.getTtl();
+        }
+        return Caffeine.newBuilder()
+                .maximumSize(region.getMaxEntries())
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Служебный метод отправки сообщения остальным узлам.
+     * Ошибка отправки не прерывает операцию: запись на других узлах
+     * будет удалена по истечении времени жизни локального кеша.
+     *
+     * @param body сообщение без идентификатора узла.
+     */
+    private void publish(final String body) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, nodeId + "\n" + body);
+        } catch (RuntimeException e) {
+            log.warn("Cache invalidation was not published: {}",
+                    e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Двухуровневый кеш: локальный кеш узла (caffeine) перед общим кешем Redis.
+ */
+package ru.maliutin.tasklist.config.cache;
@@ -0,0 +1,23 @@
+package ru.maliutin.tasklist.domain.mail;
+
+import ru.maliutin.tasklist.domain.MailType;
+
+/**
+ * Данные для наполнения письма по шаблону.
+ * Поля модели доступны в шаблоне письма по имени (например ${name}).
+ */
+public interface MailModel {
+    /**
+     * Тип письма, определяет шаблон и заголовок письма.
+     *
+     * @return тип письма.
+     */
+    MailType getType();
+
+    /**
+     * Имя пользователя, которому предназначено письмо.
+     *
+     * @return имя пользователя.
+     */
+    String getName();
+}
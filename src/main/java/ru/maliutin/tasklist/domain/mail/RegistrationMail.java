@@ -0,0 +1,22 @@
+package ru.maliutin.tasklist.domain.mail;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.maliutin.tasklist.domain.MailType;
+
+/**
+ * Данные письма после регистрации (шаблон register.ftlh).
+ */
+@Data
+@AllArgsConstructor
+public class RegistrationMail implements MailModel {
+    /**
+     * Имя пользователя.
+     */
+    private String name;
+
+    @Override
+    public MailType getType() {
+        return MailType.REGISTRATION;
+    }
+}
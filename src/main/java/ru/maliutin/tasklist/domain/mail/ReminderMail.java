@@ -0,0 +1,34 @@
+package ru.maliutin.tasklist.domain.mail;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.maliutin.tasklist.domain.MailType;
+
+/**
+ * Данные письма с напоминанием о задаче (шаблон reminder.ftlh).
+ */
+@Data
+@AllArgsConstructor
+public class ReminderMail implements MailModel {
+    /**
+     * Имя пользователя.
+     */
+    private String name;
+    /**
+     * Заголовок задачи.
+     */
+    private String title;
+    /**
+     * Описание задачи (может отсутствовать).
+     */
+    private String description;
+    /**
+     * Время до срока выполнения задачи в виде текста (например 1 hour).
+     */
+    private String window;
+
+    @Override
+    public MailType getType() {
+        return MailType.REMINDER;
+    }
+}
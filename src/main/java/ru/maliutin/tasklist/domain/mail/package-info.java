@@ -0,0 +1,4 @@
+/**
+ * Модели писем отправляемых приложением.
+ */
+package ru.maliutin.tasklist.domain.mail;
@@ -0,0 +1,48 @@
+package ru.maliutin.tasklist.domain.task;
+
+/**
+ * Уменьшенные копии изображений задач.
+ * Копии хранятся рядом с оригиналом, имя копии однозначно
+ * получается из имени оригинала, поэтому в базе данных не хранится.
+ */
+public enum ImageVariant {
+    /**
+     * Миниатюра для списков задач.
+     */
+    THUMBNAIL(200),
+    /**
+     * Изображение для просмотра задачи.
+     */
+    PREVIEW(800);
+
+    /**
+     * Максимальный размер большей стороны изображения в пикселях.
+     */
+    private final int maxSize;
+
+    ImageVariant(final int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Максимальный размер большей стороны изображения.
+     *
+     * @return размер в пикселях.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Имя копии изображения в хранилище.
+     * Например, для оригинала "image.png" миниатюра - "image_thumbnail.jpg".
+     *
+     * @param original имя оригинала изображения.
+     * @return имя копии изображения.
+     */
+    public String key(final String original) {
+        int dot = original.lastIndexOf('.');
+        String name = dot < 0 ? original : original.substring(0, dot);
+        return name + "_" + name().toLowerCase() + ".jpg";
+    }
+}
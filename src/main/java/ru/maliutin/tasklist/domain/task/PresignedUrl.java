@@ -0,0 +1,30 @@
+package ru.maliutin.tasklist.domain.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Подписанная ссылка на изображение в хранилище.
+ * По ссылке клиент загружает или скачивает изображение напрямую,
+ * минуя приложение.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresignedUrl {
+    /**
+     * Подписанная ссылка.
+     */
+    private String url;
+    /**
+     * Имя изображения в хранилище.
+     */
+    private String key;
+    /**
+     * Время, после которого ссылка перестает действовать.
+     */
+    private Instant expiresAt;
+}
@@ -9,9 +9,11 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Column;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.ElementCollection;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
@@ -26,11 +28,23 @@ import java.util.List;
 // сеттеры, конструкторы, hashcode, equals;
 @Data
 public class Task implements Serializable {
+    /**
+     * Количество идентификаторов, выделяемых одним обращением
+     * к последовательности (равно шагу последовательности tasks_id_seq).
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     /**
      * Id задачи.
+     * Идентификаторы выделяются блоками из последовательности,
+     * это позволяет Hibernate отправлять INSERT пачками.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE,
+            generator = "tasks_id_seq")
+    @SequenceGenerator(name = "tasks_id_seq",
+            sequenceName = "tasks_id_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
     private long id;
     /**
      * Заголовок задачи.
@@ -50,9 +64,14 @@ public class Task implements Serializable {
      */
     private LocalDateTime expirationDate;
 
+    /**
+     * Имена файлов изображений задачи.
+     * Подгружаются пачками для нескольких задач одним запросом.
+     */
     @Column(name = "image")
     @CollectionTable(name = "tasks_images")
     @ElementCollection
+    @BatchSize(size = 100)
     private List<String> images;
 
 }
@@ -0,0 +1,35 @@
+package ru.maliutin.tasklist.domain.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Событие изменения задачи, доставляется подписчикам владельца задачи.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangedEvent {
+    /**
+     * Вид изменения.
+     */
+    private Type type;
+    /**
+     * Id задачи.
+     */
+    private long taskId;
+    /**
+     * Id владельца задачи.
+     */
+    private long userId;
+
+    /**
+     * Вид изменения задачи.
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
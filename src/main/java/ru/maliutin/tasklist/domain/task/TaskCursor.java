@@ -0,0 +1,83 @@
+package ru.maliutin.tasklist.domain.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Курсор постраничной выдачи задач.
+ * Хранит ключ последней выданной задачи (срок выполнения и id),
+ * клиенту передается в виде непрозрачной строки.
+ */
+@Data
+@AllArgsConstructor
+public class TaskCursor {
+    /**
+     * Порядок выдачи, для которого создан курсор.
+     */
+    private TaskSort sort;
+    /**
+     * Идентификатор последней выданной задачи.
+     */
+    private long id;
+    /**
+     * Срок выполнения последней выданной задачи.
+     */
+    private LocalDateTime expirationDate;
+
+    /**
+     * Создание курсора по последней задаче страницы.
+     *
+     * @param sort порядок выдачи.
+     * @param task последняя задача страницы.
+     * @return курсор.
+     */
+    public static TaskCursor after(final TaskSort sort, final Task task) {
+        return new TaskCursor(sort, task.getId(), task.getExpirationDate());
+    }
+
+    /**
+     * Преобразование курсора в строку для передачи клиенту.
+     *
+     * @return курсор в строковом представлении.
+     */
+    public String encode() {
+        String value = sort.name() + "|" + id + "|"
+                + (expirationDate == null ? "" : expirationDate.toString());
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Преобразование строки, полученной от клиента, в курсор.
+     *
+     * @param cursor курсор в строковом представлении.
+     * @param sort   порядок выдачи запрошенный клиентом.
+     * @return курсор.
+     * @throws IllegalStateException курсор поврежден
+     *                               или создан для другого порядка выдачи.
+     */
+    public static TaskCursor decode(final String cursor, final TaskSort sort) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8);
+            String[] parts = value.split("\\|", -1);
+            TaskSort cursorSort = TaskSort.valueOf(parts[0]);
+            if (cursorSort != sort) {
+                throw new IllegalStateException(
+                        "Cursor does not match sort order.");
+            }
+            return new TaskCursor(cursorSort,
+                    Long.parseLong(parts[1]),
+                    parts[2].isEmpty() ? null : LocalDateTime.parse(parts[2]));
+        } catch (IllegalArgumentException
+                 | ArrayIndexOutOfBoundsException
+                 | DateTimeParseException e) {
+            throw new IllegalStateException("Invalid cursor.");
+        }
+    }
+}
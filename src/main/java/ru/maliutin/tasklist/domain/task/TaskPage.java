@@ -0,0 +1,22 @@
+package ru.maliutin.tasklist.domain.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Страница задач пользователя.
+ */
+@Data
+@AllArgsConstructor
+public class TaskPage {
+    /**
+     * Задачи страницы.
+     */
+    private List<Task> items;
+    /**
+     * Курсор следующей страницы (null - страница последняя).
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,39 @@
+package ru.maliutin.tasklist.domain.task;
+
+import java.sql.Timestamp;
+
+/**
+ * Напоминание о задаче: данные задачи вместе с данными ее автора,
+ * выбираемые одним запросом.
+ */
+public interface TaskReminder {
+    /**
+     * @return id задачи.
+     */
+    Long getTaskId();
+
+    /**
+     * @return заголовок задачи.
+     */
+    String getTitle();
+
+    /**
+     * @return описание задачи.
+     */
+    String getDescription();
+
+    /**
+     * @return срок выполнения задачи.
+     */
+    Timestamp getExpirationDate();
+
+    /**
+     * @return имя автора задачи.
+     */
+    String getUserName();
+
+    /**
+     * @return логин (email) автора задачи.
+     */
+    String getUsername();
+}
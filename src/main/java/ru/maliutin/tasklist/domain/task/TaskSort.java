@@ -0,0 +1,11 @@
+package ru.maliutin.tasklist.domain.task;
+
+/**
+ * Порядок постраничной выдачи задач.
+ * ID - по возрастанию идентификатора задачи;
+ * EXPIRATION_DATE - по возрастанию срока выполнения
+ * (задачи без срока идут последними), затем по идентификатору.
+ */
+public enum TaskSort {
+    ID, EXPIRATION_DATE
+}
@@ -2,10 +2,8 @@ package ru.maliutin.tasklist.domain.user;
 
 import jakarta.persistence.*;
 import lombok.Data;
-import ru.maliutin.tasklist.domain.task.Task;
 
 import java.io.Serializable;
-import java.util.List;
 import java.util.Set;
 
 
@@ -17,11 +15,21 @@ import java.util.Set;
 // Автоматически создает геттеры, сеттеры, конструкторы, hashcode, equals;
 @Data
 public class User implements Serializable {
+    /**
+     * Количество идентификаторов, выделяемых одним обращением
+     * к последовательности (равно шагу последовательности users_id_seq).
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     /**
      * Id пользователя.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE,
+            generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq",
+            sequenceName = "users_id_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
     private long id;
 
     /**
@@ -53,11 +61,4 @@ public class User implements Serializable {
     @CollectionTable(name = "users_roles")
     @Enumerated(value = EnumType.STRING)
     private Set<Role> roles;
-
-    /**
-     * Задачи пользователя.
-     */
-    @OneToMany(fetch = FetchType.EAGER)
-    @JoinTable(inverseJoinColumns = @JoinColumn(name = "task_id"))
-    private List<Task> tasks;
 }
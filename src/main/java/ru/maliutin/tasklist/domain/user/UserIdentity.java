@@ -0,0 +1,54 @@
+package ru.maliutin.tasklist.domain.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * Модель пользователя для аутентификации:
+ * учетные данные и роли без остальных данных пользователя.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserIdentity implements Serializable {
+    /**
+     * Id пользователя.
+     */
+    private long id;
+    /**
+     * Логин пользователя (email).
+     */
+    private String username;
+    /**
+     * Имя пользователя.
+     */
+    private String name;
+    /**
+     * Пароль пользователя (в закодированном виде).
+     */
+    private String password;
+    /**
+     * Роли пользователя.
+     */
+    private Set<Role> roles;
+
+    /**
+     * Конструктор используемый в запросе репозитория,
+     * роли заполняются отдельным запросом.
+     *
+     * @param id       идентификатор пользователя.
+     * @param username логин пользователя.
+     * @param name     имя пользователя.
+     * @param password пароль пользователя.
+     */
+    public UserIdentity(final long id,
+                        final String username,
+                        final String name,
+                        final String password) {
+        this(id, username, name, password, null);
+    }
+}
@@ -0,0 +1,28 @@
+package ru.maliutin.tasklist.domain.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Модель профиля пользователя для отображения клиенту.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProfile implements Serializable {
+    /**
+     * Id пользователя.
+     */
+    private long id;
+    /**
+     * Имя пользователя.
+     */
+    private String name;
+    /**
+     * Логин пользователя (email).
+     */
+    private String username;
+}
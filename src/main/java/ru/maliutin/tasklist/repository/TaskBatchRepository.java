@@ -0,0 +1,71 @@
+package ru.maliutin.tasklist.repository;
+
+import ru.maliutin.tasklist.domain.task.Task;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Пакетная запись задач через JDBC: строки отправляются в БД
+ * пачками, а не отдельным запросом на каждую задачу.
+ * Подключается к TaskRepository как фрагмент репозитория Spring Data.
+ */
+public interface TaskBatchRepository {
+    /**
+     * Количество строк в одной пачке запросов.
+     */
+    int BATCH_SIZE = 500;
+
+    /**
+     * Создание задач и закрепление их за пользователем.
+     * Идентификаторы выделяются блоками из последовательности
+     * одним запросом и записываются в переданные задачи.
+     *
+     * @param tasks  новые задачи.
+     * @param userId идентификатор пользователя.
+     */
+    void insertAll(List<Task> tasks, long userId);
+
+    /**
+     * Обновление задач (без изображений).
+     *
+     * @param tasks задачи.
+     * @return количество обновленных строк по каждой задаче.
+     */
+    int[] updateAll(List<Task> tasks);
+
+    /**
+     * Удаление задач одним запросом.
+     *
+     * @param ids идентификаторы задач.
+     */
+    void deleteAllByIds(Collection<Long> ids);
+
+    /**
+     * Получение владельцев задач.
+     *
+     * @param ids идентификаторы задач.
+     * @return идентификаторы пользователей по идентификатору задачи.
+     */
+    Map<Long, Long> findOwnerIds(Collection<Long> ids);
+
+    /**
+     * Получение идентификаторов задач нескольких пользователей
+     * одним запросом.
+     *
+     * @param userIds идентификаторы пользователей.
+     * @return идентификаторы задач по идентификатору пользователя
+     * (пользователи без задач отсутствуют).
+     */
+    Map<Long, List<Long>> findTaskIdsByUserIds(Collection<Long> userIds);
+
+    /**
+     * Получение имен изображений нескольких задач одним запросом.
+     *
+     * @param ids идентификаторы задач.
+     * @return имена изображений по идентификатору задачи
+     * (задачи без изображений отсутствуют).
+     */
+    Map<Long, List<String>> findImages(Collection<Long> ids);
+}
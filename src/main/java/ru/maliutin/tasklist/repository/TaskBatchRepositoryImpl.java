@@ -0,0 +1,220 @@
+package ru.maliutin.tasklist.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.maliutin.tasklist.domain.task.Task;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Реализация пакетной записи задач через JdbcTemplate.
+ * Запросы выполняются в транзакции вызывающего сервиса.
+ * Идентификаторы новых задач выделяются блоками из последовательности.
+ * Пачки INSERT объединяются драйвером в многострочные запросы
+ * (параметр подключения reWriteBatchedInserts).
+ */
+@RequiredArgsConstructor
+public class TaskBatchRepositoryImpl implements TaskBatchRepository {
+    /**
+     * Поле с объектом выполнения запросов JDBC.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(final List<Task> tasks, final long userId) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        List<Long> ids = allocateIds(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).setId(ids.get(i));
+        }
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO tasks
+                        (id, title, description, status, expiration_date)
+                        VALUES (?, ?, ?, ?, ?)
+                        """, tasks, BATCH_SIZE,
+                (ps, task) -> {
+                    ps.setLong(1, task.getId());
+                    setFields(ps, 2, task);
+                });
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO users_tasks (user_id, task_id)
+                        VALUES (?, ?)
+                        """, tasks, BATCH_SIZE,
+                (ps, task) -> {
+                    ps.setLong(1, userId);
+                    ps.setLong(2, task.getId());
+                });
+    }
+
+    @Override
+    public int[] updateAll(final List<Task> tasks) {
+        int[][] batches = jdbcTemplate.batchUpdate("""
+                        UPDATE tasks
+                        SET title = ?, description = ?, status = ?,
+                        expiration_date = ?
+                        WHERE id = ?
+                        """, tasks, BATCH_SIZE,
+                (ps, task) -> {
+                    setFields(ps, 1, task);
+                    ps.setLong(5, task.getId());
+                });
+        int[] counts = new int[tasks.size()];
+        int index = 0;
+        for (int[] batch : batches) {
+            System.arraycopy(batch, 0, counts, index, batch.length);
+            index += batch.length;
+        }
+        return counts;
+    }
+
+    @Override
+    public void deleteAllByIds(final Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM tasks WHERE id = ANY (?)",
+                ps -> ps.setArray(1, toArray(ps, ids)));
+    }
+
+    @Override
+    public Map<Long, Long> findOwnerIds(final Collection<Long> ids) {
+        Map<Long, Long> owners = new HashMap<>();
+        if (ids.isEmpty()) {
+            return owners;
+        }
+        jdbcTemplate.query("""
+                        SELECT task_id, user_id
+                        FROM users_tasks
+                        WHERE task_id = ANY (?)
+                        """,
+                ps -> ps.setArray(1, toArray(ps, ids)),
+                rs -> {
+                    owners.put(rs.getLong("task_id"), rs.getLong("user_id"));
+                });
+        return owners;
+    }
+
+    @Override
+    public Map<Long, List<Long>> findTaskIdsByUserIds(
+            final Collection<Long> userIds) {
+        Map<Long, List<Long>> taskIds = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return taskIds;
+        }
+        jdbcTemplate.query("""
+                        SELECT user_id, task_id
+                        FROM users_tasks
+                        WHERE user_id = ANY (?)
+                        ORDER BY user_id, task_id
+                        """,
+                ps -> ps.setArray(1, toArray(ps, userIds)),
+                rs -> {
+                    taskIds.computeIfAbsent(rs.getLong("user_id"),
+                                    userId -> new ArrayList<>())
+                            .add(rs.getLong("task_id"));
+                });
+        return taskIds;
+    }
+
+    @Override
+    public Map<Long, List<String>> findImages(final Collection<Long> ids) {
+        Map<Long, List<String>> images = new HashMap<>();
+        if (ids.isEmpty()) {
+            return images;
+        }
+        jdbcTemplate.query("""
+                        SELECT task_id, image
+                        FROM tasks_images
+                        WHERE task_id = ANY (?)
+                        """,
+                ps -> ps.setArray(1, toArray(ps, ids)),
+                rs -> {
+                    images.computeIfAbsent(rs.getLong("task_id"),
+                                    taskId -> new ArrayList<>())
+                            .add(rs.getString("image"));
+                });
+        return images;
+    }
+
+    /**
+     * Служебный метод выделения идентификаторов задач.
+     * Как и Hibernate (оптимизатор pooled), значение последовательности
+     * считается верхней границей блока из Task.ID_ALLOCATION_SIZE
+     * идентификаторов, поэтому блоки не пересекаются с выделенными
+     * Hibernate. Блоки всех задач выделяются одним запросом.
+     *
+     * @param count количество идентификаторов.
+     * @return идентификаторы.
+     */
+    private List<Long> allocateIds(final int count) {
+        int size = Task.ID_ALLOCATION_SIZE;
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + size - 1) / size;
+            List<Long> values = jdbcTemplate.queryForList("""
+                    SELECT nextval('tasks_id_seq')
+                    FROM generate_series(1, ?)
+                    """, Long.class, blocks);
+            for (long value : values) {
+                // Первое значение новой последовательности
+                // не является границей полного блока.
+                if (value < size) {
+                    continue;
+                }
+                for (long id = value - size + 1;
+                     id <= value && ids.size() < count; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Служебный метод установки полей задачи в параметры запроса:
+     * заголовок, описание, статус, срок выполнения.
+     *
+     * @param ps    запрос.
+     * @param first номер первого параметра.
+     * @param task  задача.
+     * @throws SQLException ошибка установки параметра.
+     */
+    private static void setFields(final PreparedStatement ps,
+                                  final int first,
+                                  final Task task) throws SQLException {
+        ps.setString(first, task.getTitle());
+        ps.setString(first + 1, task.getDescription());
+        ps.setString(first + 2, task.getStatus().name());
+        if (task.getExpirationDate() == null) {
+            ps.setNull(first + 3, Types.TIMESTAMP);
+        } else {
+            ps.setTimestamp(first + 3,
+                    Timestamp.valueOf(task.getExpirationDate()));
+        }
+    }
+
+    /**
+     * Служебный метод создания массива bigint для параметра ANY (?).
+     *
+     * @param ps  запрос.
+     * @param ids идентификаторы.
+     * @return массив SQL.
+     * @throws SQLException ошибка создания массива.
+     */
+    private static Array toArray(final PreparedStatement ps,
+                                 final Collection<Long> ids)
+            throws SQLException {
+        return ps.getConnection().createArrayOf("bigint", ids.toArray());
+    }
+}
@@ -5,14 +5,17 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.maliutin.tasklist.domain.task.Task;
+import ru.maliutin.tasklist.domain.task.TaskReminder;
 
 import java.sql.Timestamp;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Интерфейс для запросов к БД сущности Task.
  */
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>,
+        TaskBatchRepository {
 
 
     /**
@@ -28,6 +31,106 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
             """, nativeQuery = true)
     List<Task> findAllByUserId(@Param("userId") long userId);
 
+    /**
+     * Получение идентификатора владельца задачи.
+     *
+     * @param taskId идентификатор задачи.
+     * @return объект Optional с идентификатором пользователя.
+     */
+    @Query(value = """
+            SELECT user_id
+            FROM users_tasks
+            WHERE task_id = :taskId
+            """, nativeQuery = true)
+    Optional<Long> findOwnerId(@Param("taskId") long taskId);
+
+    /**
+     * Страница задач пользователя в порядке возрастания id.
+     *
+     * @param userId  идентификатор пользователя.
+     * @param afterId id последней задачи предыдущей страницы (0 - начало).
+     * @param limit   размер страницы.
+     * @return лист задач.
+     */
+    @Query(value = """
+            SELECT t.* FROM tasks t
+            JOIN users_tasks ut ON ut.task_id = t.id
+            WHERE ut.user_id = :userId
+            AND t.id > :afterId
+            ORDER BY t.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Task> findPageByUserIdOrderById(@Param("userId") long userId,
+                                         @Param("afterId") long afterId,
+                                         @Param("limit") int limit);
+
+    /**
+     * Первая страница задач пользователя в порядке срока выполнения.
+     *
+     * @param userId идентификатор пользователя.
+     * @param limit  размер страницы.
+     * @return лист задач.
+     */
+    @Query(value = """
+            SELECT t.* FROM tasks t
+            JOIN users_tasks ut ON ut.task_id = t.id
+            WHERE ut.user_id = :userId
+            ORDER BY t.expiration_date NULLS LAST, t.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Task> findFirstPageByUserIdOrderByExpiration(
+            @Param("userId") long userId,
+            @Param("limit") int limit);
+
+    /**
+     * Следующая страница задач пользователя в порядке срока выполнения,
+     * если последняя выданная задача имела срок выполнения.
+     *
+     * @param userId    идентификатор пользователя.
+     * @param afterDate срок выполнения последней выданной задачи.
+     * @param afterId   id последней выданной задачи.
+     * @param limit     размер страницы.
+     * @return лист задач.
+     */
+    @Query(value = """
+            SELECT t.* FROM tasks t
+            JOIN users_tasks ut ON ut.task_id = t.id
+            WHERE ut.user_id = :userId
+            AND (t.expiration_date > :afterDate
+                 OR (t.expiration_date = :afterDate AND t.id > :afterId)
+                 OR t.expiration_date IS NULL)
+            ORDER BY t.expiration_date NULLS LAST, t.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Task> findPageByUserIdOrderByExpiration(
+            @Param("userId") long userId,
+            @Param("afterDate") Timestamp afterDate,
+            @Param("afterId") long afterId,
+            @Param("limit") int limit);
+
+    /**
+     * Следующая страница задач пользователя в порядке срока выполнения,
+     * если выдача дошла до задач без срока выполнения.
+     *
+     * @param userId  идентификатор пользователя.
+     * @param afterId id последней выданной задачи.
+     * @param limit   размер страницы.
+     * @return лист задач.
+     */
+    @Query(value = """
+            SELECT t.* FROM tasks t
+            JOIN users_tasks ut ON ut.task_id = t.id
+            WHERE ut.user_id = :userId
+            AND t.expiration_date IS NULL
+            AND t.id > :afterId
+            ORDER BY t.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Task> findPageWithoutExpirationByUserId(
+            @Param("userId") long userId,
+            @Param("afterId") long afterId,
+            @Param("limit") int limit);
+
     @Modifying
     @Query(value = """
             INSERT INTO users_tasks (user_id, task_id)
@@ -42,12 +145,69 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
             """, nativeQuery = true)
     void addImage(@Param("id") Long id, @Param("fileName") String fileName);
 
-    @Modifying
+    /**
+     * Страница задач, срок выполнения которых наступает в заданном
+     * интервале и о которых еще не напоминали, вместе с их авторами.
+     *
+     * @param start   начало интервала.
+     * @param end     конец интервала.
+     * @param afterId id последней задачи предыдущей страницы (0 - начало).
+     * @param limit   размер страницы.
+     * @return лист напоминаний.
+     */
     @Query(value = """
-            SELECT * FROM tasks t
-            where T.expiration_date IS NOT NULL
+            SELECT t.id AS "taskId",
+            t.title AS "title",
+            t.description AS "description",
+            t.expiration_date AS "expirationDate",
+            u.name AS "userName",
+            u.username AS "username"
+            FROM tasks t
+            JOIN users_tasks ut ON ut.task_id = t.id
+            JOIN users u ON u.id = ut.user_id
+            LEFT JOIN task_reminders r ON r.task_id = t.id
+                AND r.expiration_date = t.expiration_date
+            WHERE t.status <> 'DONE'
             AND t.expiration_date BETWEEN :start AND :end
+            AND r.task_id IS NULL
+            AND t.id > :afterId
+            ORDER BY t.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<TaskReminder> findDueReminders(@Param("start") Timestamp start,
+                                        @Param("end") Timestamp end,
+                                        @Param("afterId") long afterId,
+                                        @Param("limit") int limit);
+
+    /**
+     * Отметка о напоминании по задаче с заданным сроком выполнения.
+     * Отметка создается только одним узлом приложения.
+     *
+     * @param taskId         идентификатор задачи.
+     * @param expirationDate срок выполнения задачи.
+     * @return 1 - отметка создана, 0 - отметка уже существует.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_reminders (task_id, expiration_date, reminded_at)
+            VALUES (:taskId, :expirationDate, now())
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int claimReminder(@Param("taskId") long taskId,
+                      @Param("expirationDate") Timestamp expirationDate);
+
+    /**
+     * Удаление отметки о напоминании (напоминание не было отправлено).
+     *
+     * @param taskId         идентификатор задачи.
+     * @param expirationDate срок выполнения задачи.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM task_reminders
+            WHERE task_id = :taskId
+            AND expiration_date = :expirationDate
             """, nativeQuery = true)
-    List<Task> findAllSoonTasks(@Param("start") Timestamp start,
-                                @Param("end") Timestamp end);
+    void releaseReminder(@Param("taskId") long taskId,
+                         @Param("expirationDate") Timestamp expirationDate);
 }
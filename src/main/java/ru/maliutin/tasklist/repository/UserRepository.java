@@ -3,9 +3,15 @@ package ru.maliutin.tasklist.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.maliutin.tasklist.domain.user.Role;
 import ru.maliutin.tasklist.domain.user.User;
+import ru.maliutin.tasklist.domain.user.UserIdentity;
+import ru.maliutin.tasklist.domain.user.UserProfile;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Интерфейс для запросов к БД сущности User.
@@ -23,20 +29,89 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
 
     /**
-     * Проверка является ли пользователь владельцем задачи.
+     * Поиск учетных данных пользователя по логину (без ролей).
+     *
+     * @param username логин пользователя.
+     * @return объект Optional с учетными данными пользователя.
+     */
+    @Query("""
+            SELECT new ru.maliutin.tasklist.domain.user.UserIdentity(
+                u.id, u.username, u.name, u.password)
+            FROM User u
+            WHERE u.username = :username
+            """)
+    Optional<UserIdentity> findIdentityByUsername(
+            @Param("username") String username);
+
+    /**
+     * Получение ролей пользователя.
+     *
+     * @param userId идентификатор пользователя.
+     * @return множество ролей пользователя.
+     */
+    @Query("""
+            SELECT r FROM User u
+            JOIN u.roles r
+            WHERE u.id = :userId
+            """)
+    Set<Role> findRolesById(@Param("userId") long userId);
+
+    /**
+     * Поиск профиля пользователя по идентификатору.
+     *
+     * @param id идентификатор пользователя.
+     * @return объект Optional с профилем пользователя.
+     */
+    @Query("""
+            SELECT new ru.maliutin.tasklist.domain.user.UserProfile(
+                u.id, u.name, u.username)
+            FROM User u
+            WHERE u.id = :id
+            """)
+    Optional<UserProfile> findProfileById(@Param("id") long id);
+
+    /**
+     * Поиск профилей нескольких пользователей одним запросом.
+     *
+     * @param ids идентификаторы пользователей.
+     * @return лист найденных профилей.
+     */
+    @Query("""
+            SELECT new ru.maliutin.tasklist.domain.user.UserProfile(
+                u.id, u.name, u.username)
+            FROM User u
+            WHERE u.id IN :ids
+            """)
+    List<UserProfile> findProfilesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Получение идентификаторов задач пользователя.
      *
      * @param userId идентификатор пользователя.
-     * @param taskId идентификатор задачи.
-     * @return true - пользователь является владельцем, иначе - false.
+     * @return лист идентификаторов задач.
+     */
+    @Query(value = """
+            SELECT task_id
+            FROM users_tasks
+            WHERE user_id = :userId
+            """, nativeQuery = true)
+    List<Long> findTaskIdsByUserId(@Param("userId") long userId);
+
+    /**
+     * Подсчет задач из переданных, принадлежащих пользователю.
+     *
+     * @param userId  идентификатор пользователя.
+     * @param taskIds идентификаторы задач.
+     * @return количество задач пользователя.
      */
     @Query(value = """
-            SELECT exists(SELECT 1
-                          FROM users_tasks
-                          WHERE user_id = :userId
-                            AND task_id = :taskId)
+            SELECT count(*)
+            FROM users_tasks
+            WHERE user_id = :userId
+              AND task_id IN (:taskIds)
             """, nativeQuery = true)
-    boolean isTaskOwner(
-            @Param("userId") long userId, @Param("taskId") long taskId);
+    long countOwnedTasks(@Param("userId") long userId,
+                         @Param("taskIds") Collection<Long> taskIds);
 
     @Query(value = """
             SELECT u.id as id,
@@ -1,10 +1,49 @@
 package ru.maliutin.tasklist.service;
 
 
+import ru.maliutin.tasklist.domain.task.PresignedUrl;
 import ru.maliutin.tasklist.domain.task.TaskImage;
 
 public interface ImageService {
 
     String upload(TaskImage image);
 
+    /**
+     * Создание уменьшенных копий изображения (ImageVariant)
+     * рядом с оригиналом в хранилище.
+     * Копии создаются в фоновом потоке, метод не ждет их создания.
+     *
+     * @param fileName имя оригинала изображения в хранилище.
+     */
+    void createVariants(String fileName);
+
+    /**
+     * Создание подписанной ссылки для загрузки изображения
+     * напрямую в хранилище.
+     *
+     * @param prefix           префикс имени изображения в хранилище.
+     * @param originalFilename имя файла на стороне клиента
+     *                         (используется расширение).
+     * @return подписанная ссылка с именем будущего изображения.
+     */
+    PresignedUrl createUploadUrl(String prefix, String originalFilename);
+
+    /**
+     * Создание подписанной ссылки для скачивания изображения
+     * напрямую из хранилища.
+     *
+     * @param key имя изображения в хранилище.
+     * @return подписанная ссылка.
+     */
+    PresignedUrl createDownloadUrl(String key);
+
+    /**
+     * Проверка изображения, загруженного по подписанной ссылке:
+     * изображение должно существовать и не превышать допустимый размер.
+     * Слишком большое изображение удаляется из хранилища.
+     *
+     * @param key имя изображения в хранилище.
+     */
+    void verifyUpload(String key);
+
 }
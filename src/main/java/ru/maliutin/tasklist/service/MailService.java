@@ -1,9 +1,9 @@
 package ru.maliutin.tasklist.service;
 
-import ru.maliutin.tasklist.domain.MailType;
+import ru.maliutin.tasklist.domain.mail.MailModel;
 import ru.maliutin.tasklist.domain.user.User;
 
-import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Интерфейс сервиса отправки писем.
@@ -11,11 +11,13 @@ import java.util.Properties;
 public interface MailService {
     /**
      * Отправка письма пользователю.
+     * Письмо ставится в очередь отправки, метод не ждет его доставки.
      * @param user объект пользователя, которому отправляется письмо.
      *             (В объекте содержится email)
-     * @param type тип отправляемого письма.
-     * @param properties данные, которые понадобятся во время отправки письма.
+     * @param model данные письма, тип модели определяет шаблон письма.
+     * @return результат отправки: завершается после доставки письма
+     * или с ошибкой, если письмо не удалось отправить за все попытки.
      */
-    void sendEmail(User user, MailType type, Properties properties);
+    CompletableFuture<Void> sendEmail(User user, MailModel model);
 
 }
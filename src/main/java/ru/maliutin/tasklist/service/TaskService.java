@@ -1,15 +1,34 @@
 package ru.maliutin.tasklist.service;
 
+import ru.maliutin.tasklist.domain.task.PresignedUrl;
 import ru.maliutin.tasklist.domain.task.Task;
 import ru.maliutin.tasklist.domain.task.TaskImage;
+import ru.maliutin.tasklist.domain.task.TaskPage;
+import ru.maliutin.tasklist.domain.task.TaskReminder;
+import ru.maliutin.tasklist.domain.task.TaskSort;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Интерфейс сервиса для работы с репозиторием объектов задач.
  */
 public interface TaskService {
+    /**
+     * Размер страницы задач по умолчанию.
+     */
+    int DEFAULT_PAGE_SIZE = 50;
+    /**
+     * Максимальный размер страницы задач.
+     */
+    int MAX_PAGE_SIZE = 500;
+    /**
+     * Максимальное количество задач в одной пакетной операции.
+     */
+    int MAX_BULK_SIZE = 5000;
+
     /**
      * Получение задачи по id.
      *
@@ -26,6 +45,51 @@ public interface TaskService {
      */
     List<Task> getAllByUserId(long userId);
 
+    /**
+     * Получение страницы задач пользователя (keyset пагинация).
+     *
+     * @param userId идентификатор пользователя.
+     * @param sort   порядок выдачи (null - по id).
+     * @param cursor курсор предыдущей страницы (null - первая страница).
+     * @param limit  размер страницы (null - размер по умолчанию).
+     * @return страница задач с курсором следующей страницы.
+     */
+    TaskPage getPageByUserId(long userId, TaskSort sort,
+                             String cursor, Integer limit);
+
+    /**
+     * Получение нескольких задач одним запросом.
+     * Изображения задач не загружаются (см. getImages).
+     *
+     * @param ids идентификаторы задач.
+     * @return лист найденных задач (порядок не гарантируется).
+     */
+    List<Task> getAllByIds(Collection<Long> ids);
+
+    /**
+     * Получение идентификаторов задач нескольких пользователей.
+     *
+     * @param userIds идентификаторы пользователей.
+     * @return идентификаторы задач по идентификатору пользователя.
+     */
+    Map<Long, List<Long>> getIdsByUserIds(Collection<Long> userIds);
+
+    /**
+     * Получение имен изображений нескольких задач.
+     *
+     * @param ids идентификаторы задач.
+     * @return имена изображений по идентификатору задачи.
+     */
+    Map<Long, List<String>> getImages(Collection<Long> ids);
+
+    /**
+     * Получение владельцев нескольких задач.
+     *
+     * @param ids идентификаторы задач.
+     * @return идентификаторы пользователей по идентификатору задачи.
+     */
+    Map<Long, Long> getOwnerIds(Collection<Long> ids);
+
     /**
      * Обновление задачи.
      *
@@ -50,7 +114,88 @@ public interface TaskService {
      */
     void delete(long id);
 
+    /**
+     * Создание нескольких задач в одной транзакции.
+     *
+     * @param tasks  новые задачи.
+     * @param userId идентификатор пользователя, которому принадлежат задачи.
+     * @return созданные задачи.
+     */
+    List<Task> createAll(List<Task> tasks, long userId);
+
+    /**
+     * Обновление нескольких задач в одной транзакции.
+     *
+     * @param tasks задачи.
+     * @return обновленные задачи (если одна из задач не найдена,
+     * изменения отменяются).
+     */
+    List<Task> updateAll(List<Task> tasks);
+
+    /**
+     * Удаление нескольких задач одним запросом.
+     *
+     * @param ids идентификаторы задач.
+     */
+    void deleteAll(Collection<Long> ids);
+
     void uploadImage(Long taskId, TaskImage taskImage);
 
-    List<Task> getAllSoonTasks(Duration duration);
+    /**
+     * Получение подписанной ссылки для загрузки изображения задачи
+     * напрямую в хранилище.
+     *
+     * @param taskId   идентификатор задачи.
+     * @param fileName имя файла на стороне клиента.
+     * @return подписанная ссылка с именем будущего изображения.
+     */
+    PresignedUrl createImageUploadUrl(Long taskId, String fileName);
+
+    /**
+     * Завершение загрузки изображения по подписанной ссылке:
+     * изображение проверяется и добавляется к задаче.
+     *
+     * @param taskId идентификатор задачи.
+     * @param key    имя изображения из ссылки на загрузку.
+     */
+    void completeImageUpload(Long taskId, String key);
+
+    /**
+     * Получение подписанной ссылки для скачивания изображения задачи
+     * (оригинала или уменьшенной копии) напрямую из хранилища.
+     *
+     * @param taskId идентификатор задачи.
+     * @param key    имя изображения в хранилище.
+     * @return подписанная ссылка.
+     */
+    PresignedUrl createImageDownloadUrl(Long taskId, String key);
+
+    /**
+     * Получение страницы напоминаний о задачах, срок выполнения
+     * которых наступает в течение заданного времени.
+     * Задачи, о которых уже напоминали, не возвращаются.
+     *
+     * @param duration остаток времени до срока выполнения.
+     * @param afterId  id последней задачи предыдущей страницы (0 - начало).
+     * @param limit    размер страницы.
+     * @return лист напоминаний.
+     */
+    List<TaskReminder> getDueReminders(Duration duration,
+                                       long afterId, int limit);
+
+    /**
+     * Закрепление напоминания за текущим узлом приложения.
+     *
+     * @param reminder напоминание.
+     * @return true - напоминание нужно отправить, false - напоминание
+     * уже отправлено или отправляется другим узлом.
+     */
+    boolean claimReminder(TaskReminder reminder);
+
+    /**
+     * Снятие отметки о напоминании, если его не удалось отправить.
+     *
+     * @param reminder напоминание.
+     */
+    void releaseReminder(TaskReminder reminder);
 }
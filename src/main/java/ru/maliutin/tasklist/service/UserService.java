@@ -1,6 +1,11 @@
 package ru.maliutin.tasklist.service;
 
 import ru.maliutin.tasklist.domain.user.User;
+import ru.maliutin.tasklist.domain.user.UserIdentity;
+import ru.maliutin.tasklist.domain.user.UserProfile;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Класс содержащий бизнес-логику программы.
@@ -25,6 +30,33 @@ public interface UserService {
      */
     User getByUsername(String username);
 
+    /**
+     * Получение учетных данных и ролей пользователя по логину
+     * (используется при аутентификации).
+     *
+     * @param username логин пользователя.
+     * @return учетные данные пользователя или
+     * генерирует исключение в случае его отсутствия.
+     */
+    UserIdentity getIdentityByUsername(String username);
+
+    /**
+     * Получение профиля пользователя по его id.
+     *
+     * @param id идентификатор пользователя.
+     * @return профиль пользователя или
+     * генерирует исключение в случае его отсутствия.
+     */
+    UserProfile getProfileById(long id);
+
+    /**
+     * Получение профилей нескольких пользователей одним запросом.
+     *
+     * @param ids идентификаторы пользователей.
+     * @return лист найденных профилей (порядок не гарантируется).
+     */
+    List<UserProfile> getProfilesByIds(Collection<Long> ids);
+
     /**
      * Обновление информации о пользователе.
      *
@@ -50,6 +82,15 @@ public interface UserService {
      */
     boolean isTaskOwner(Long userId, long taskId);
 
+    /**
+     * Проверка принадлежности пользователю нескольких задач.
+     *
+     * @param userId  идентификатор пользователя.
+     * @param taskIds идентификаторы задач.
+     * @return true - если все задачи принадлежат пользователю, иначе - false.
+     */
+    boolean isTasksOwner(Long userId, Collection<Long> taskIds);
+
     /**
      * Удаление пользователя.
      *
@@ -0,0 +1,25 @@
+package ru.maliutin.tasklist.service;
+
+/**
+ * Интерфейс сервиса версий пользователей.
+ * Версия пользователя записывается в токены при их создании
+ * и увеличивается при изменении или удалении пользователя,
+ * что делает недействительными все ранее выданные токены.
+ */
+public interface UserVersionService {
+    /**
+     * Получение текущей версии пользователя.
+     *
+     * @param userId идентификатор пользователя.
+     * @return текущая версия пользователя.
+     */
+    long getVersion(long userId);
+
+    /**
+     * Увеличение версии пользователя (отзыв выданных токенов).
+     *
+     * @param userId идентификатор пользователя.
+     * @return новая версия пользователя.
+     */
+    long increment(long userId);
+}
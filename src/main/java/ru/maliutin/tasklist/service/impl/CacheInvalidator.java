@@ -0,0 +1,231 @@
+package ru.maliutin.tasklist.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Удаление из кешей записей, устаревших после изменения данных.
+ * Для каждого вида изменения известен список затронутых кешей
+ * и способ получения ключей записей из измененных сущностей.
+ * Записи удаляются пачкой после фиксации транзакции: до фиксации
+ * другой запрос прочитал бы из БД прежние данные и снова поместил
+ * их в кеш. При откате транзакции данные не изменились,
+ * и записи не удаляются.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidator {
+    static final String TASK_BY_ID = "TaskService::getById";
+    static final String TASK_AUTHOR = "UserService:getTaskAuthor";
+    static final String TASK_IDS = TaskOwnershipIndex.CACHE;
+    static final String USER_BY_ID = "UserService::getById";
+    static final String USER_BY_USERNAME = "UserService::getByUsername";
+    static final String USER_IDENTITY = "UserService::getIdentityByUsername";
+    static final String USER_PROFILE = "UserService::getProfileById";
+
+    /**
+     * Вид изменения данных.
+     */
+    enum Change {
+        TASK_CREATED, TASK_UPDATED, TASK_DELETED, USER_UPDATED, USER_DELETED
+    }
+
+    /**
+     * Кеши, записи которых устаревают при изменении.
+     */
+    private static final Map<Change, List<String>> AFFECTED_CACHES =
+            new EnumMap<>(Map.of(
+                    Change.TASK_CREATED, List.of(TASK_IDS),
+                    Change.TASK_UPDATED, List.of(TASK_BY_ID),
+                    Change.TASK_DELETED,
+                    List.of(TASK_BY_ID, TASK_AUTHOR, TASK_IDS),
+                    // Автор задачи - объект пользователя.
+                    Change.USER_UPDATED,
+                    List.of(USER_BY_ID, USER_BY_USERNAME, USER_IDENTITY,
+                            USER_PROFILE, TASK_AUTHOR),
+                    Change.USER_DELETED,
+                    List.of(USER_BY_ID, USER_BY_USERNAME, USER_IDENTITY,
+                            USER_PROFILE, TASK_AUTHOR, TASK_IDS)));
+
+    /**
+     * Ключи записей кеша по измененным сущностям.
+     */
+    private static final Map<String, Function<Keys, Stream<?>>> CACHE_KEYS =
+            Map.of(
+                    TASK_BY_ID, keys -> keys.taskIds.stream(),
+                    TASK_AUTHOR, keys -> keys.taskIds.stream(),
+                    TASK_IDS, keys -> Stream.ofNullable(keys.userId),
+                    USER_BY_ID, keys -> Stream.ofNullable(keys.userId),
+                    USER_PROFILE, keys -> Stream.ofNullable(keys.userId),
+                    USER_BY_USERNAME, keys -> keys.usernames.stream(),
+                    USER_IDENTITY, keys -> keys.usernames.stream());
+
+    /**
+     * Менеджер кешей.
+     */
+    private final CacheManager cacheManager;
+
+    /**
+     * Удаление записей после создания задачи.
+     *
+     * @param taskId  идентификатор задачи.
+     * @param ownerId идентификатор владельца задачи.
+     */
+    public void taskCreated(final long taskId, final long ownerId) {
+        invalidate(Change.TASK_CREATED,
+                new Keys(ownerId, List.of(), List.of(taskId)));
+    }
+
+    /**
+     * Удаление записей после изменения задачи.
+     *
+     * @param taskId идентификатор задачи.
+     */
+    public void taskUpdated(final long taskId) {
+        invalidate(Change.TASK_UPDATED,
+                new Keys(null, List.of(), List.of(taskId)));
+    }
+
+    /**
+     * Удаление записей после удаления задачи.
+     *
+     * @param taskId  идентификатор задачи.
+     * @param ownerId идентификатор владельца задачи (null - неизвестен).
+     */
+    public void taskDeleted(final long taskId, final Long ownerId) {
+        invalidate(Change.TASK_DELETED,
+                new Keys(ownerId, List.of(), List.of(taskId)));
+    }
+
+    /**
+     * Удаление записей после изменения пользователя.
+     *
+     * @param userId    идентификатор пользователя.
+     * @param usernames прежний и новый логины пользователя.
+     * @param taskIds   идентификаторы задач пользователя.
+     */
+    public void userUpdated(final long userId,
+                            final Collection<String> usernames,
+                            final Collection<Long> taskIds) {
+        invalidate(Change.USER_UPDATED,
+                new Keys(userId, usernames, taskIds));
+    }
+
+    /**
+     * Удаление записей после удаления пользователя.
+     *
+     * @param userId    идентификатор пользователя.
+     * @param usernames логины пользователя.
+     * @param taskIds   идентификаторы задач пользователя.
+     */
+    public void userDeleted(final long userId,
+                            final Collection<String> usernames,
+                            final Collection<Long> taskIds) {
+        invalidate(Change.USER_DELETED,
+                new Keys(userId, usernames, taskIds));
+    }
+
+    /**
+     * Служебный метод удаления записей, затронутых изменением.
+     * В транзакции записи накапливаются и удаляются после фиксации,
+     * вне транзакции - сразу.
+     *
+     * @param change вид изменения.
+     * @param keys   измененные сущности.
+     */
+    private void invalidate(final Change change, final Keys keys) {
+        Map<String, Set<Object>> evictions = new LinkedHashMap<>();
+        for (String cacheName : AFFECTED_CACHES.get(change)) {
+            CACHE_KEYS.get(cacheName).apply(keys)
+                    .filter(Objects::nonNull)
+                    .forEach(key -> evictions
+                            .computeIfAbsent(cacheName,
+                                    name -> new LinkedHashSet<>())
+                            .add(key));
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(evictions);
+            return;
+        }
+        Batch batch = (Batch) TransactionSynchronizationManager
+                .getResource(this);
+        if (batch == null) {
+            batch = new Batch();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(batch);
+        }
+        batch.add(evictions);
+    }
+
+    /**
+     * Служебный метод удаления записей из кешей.
+     * Ошибка удаления из одного кеша не прерывает удаление из остальных:
+     * оставшаяся запись будет удалена по истечении времени жизни.
+     *
+     * @param evictions ключи записей по названию кеша.
+     */
+    private void evict(final Map<String, Set<Object>> evictions) {
+        evictions.forEach((cacheName, keys) -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache == null) {
+                return;
+            }
+            try {
+                keys.forEach(cache::evict);
+            } catch (RuntimeException e) {
+                log.warn("Cache {} was not invalidated: {}",
+                        cacheName, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Измененные сущности: пользователь, его логины и задачи.
+     */
+    @RequiredArgsConstructor
+    private static final class Keys {
+        private final Long userId;
+        private final Collection<String> usernames;
+        private final Collection<Long> taskIds;
+    }
+
+    /**
+     * Записи, накопленные за транзакцию.
+     */
+    private final class Batch implements TransactionSynchronization {
+        private final Map<String, Set<Object>> evictions =
+                new LinkedHashMap<>();
+
+        void add(final Map<String, Set<Object>> keys) {
+            keys.forEach((cacheName, cacheKeys) -> evictions
+                    .computeIfAbsent(cacheName, name -> new LinkedHashSet<>())
+                    .addAll(cacheKeys));
+        }
+
+        @Override
+        public void afterCompletion(final int status) {
+            TransactionSynchronizationManager
+                    .unbindResourceIfPossible(CacheInvalidator.this);
+            if (status == STATUS_COMMITTED) {
+                evict(evictions);
+            }
+        }
+    }
+}
@@ -1,54 +1,149 @@
 package ru.maliutin.tasklist.service.impl;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import io.minio.BucketExistsArgs;
+import io.minio.GetObjectArgs;
+import io.minio.GetPresignedObjectUrlArgs;
 import io.minio.MakeBucketArgs;
 import io.minio.MinioClient;
 import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+import io.minio.http.Method;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import ru.maliutin.tasklist.domain.exception.ImageUploadException;
+import ru.maliutin.tasklist.domain.exception.ResourceNotFoundException;
+import ru.maliutin.tasklist.domain.task.ImageVariant;
+import ru.maliutin.tasklist.domain.task.PresignedUrl;
 import ru.maliutin.tasklist.domain.task.TaskImage;
 import ru.maliutin.tasklist.service.ImageService;
+import ru.maliutin.tasklist.service.props.ImageProperties;
 import ru.maliutin.tasklist.service.props.MinioProperties;
 
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class ImageServiceImpl implements ImageService {
+public class ImageServiceImpl implements ImageService, MeterBinder {
+    /**
+     * Размер большей стороны самой крупной копии изображения.
+     */
+    private static final int LARGEST_VARIANT = Arrays.stream(
+                    ImageVariant.values()).mapToInt(ImageVariant::getMaxSize)
+            .max().orElseThrow();
 
     private final MinioClient minioClient;
     private final MinioProperties minioProperties;
+    private final ImageProperties imageProperties;
+    /**
+     * Поле с фабрикой потоков.
+     */
+    private final WorkerThreads workerThreads;
 
-    @Override
-    public String upload(final TaskImage image) {
+    /**
+     * Количество изображений, для которых созданы копии.
+     */
+    private final LongAdder variantsCreated = new LongAdder();
+    /**
+     * Количество изображений, для которых копии создать не удалось
+     * (в том числе из-за заполненной очереди).
+     */
+    private final LongAdder variantsFailed = new LongAdder();
+    /**
+     * Пул потоков создания уменьшенных копий изображений.
+     */
+    private ThreadPoolTaskExecutor variantWorkers;
+
+    /**
+     * Признак того, что корзина для изображений существует.
+     * Проверяется при старте приложения, если хранилище в этот момент
+     * недоступно - при первой загрузке изображения.
+     */
+    private volatile boolean bucketReady;
+
+    /**
+     * Проверка (создание) корзины для изображений при старте приложения.
+     */
+    @PostConstruct
+    public void init() {
+        variantWorkers = new ThreadPoolTaskExecutor();
+        variantWorkers.setCorePoolSize(imageProperties.getVariantWorkers());
+        variantWorkers.setMaxPoolSize(imageProperties.getVariantWorkers());
+        variantWorkers.setQueueCapacity(
+                imageProperties.getVariantQueueCapacity());
+        variantWorkers.setThreadFactory(
+                workerThreads.factory("image-variant-"));
+        variantWorkers.initialize();
         try {
             createBucket();
         } catch (Exception e) {
-            throw new ImageUploadException(
-                    "Image upload failed" + e.getMessage());
+            log.warn("Bucket {} check failed, will retry on upload: {}",
+                    minioProperties.getBucket(), e.getMessage());
+        }
+    }
+
+    /**
+     * Остановка пула потоков создания копий изображений.
+     */
+    @PreDestroy
+    public void destroy() {
+        variantWorkers.shutdown();
+    }
+
+    @Override
+    public String upload(final TaskImage image) {
+        if (!bucketReady) {
+            try {
+                createBucket();
+            } catch (Exception e) {
+                throw new ImageUploadException(
+                        "Image upload failed" + e.getMessage());
+            }
         }
         MultipartFile file = image.getFile();
         if (file.isEmpty() || file.getOriginalFilename() == null) {
             throw new ImageUploadException("Image must have name.");
         }
         String filename = generateFileName(file);
-        InputStream inputStream;
-        try {
-            inputStream = file.getInputStream();
-        } catch (Exception e) {
-            throw new ImageUploadException(
-                    "Image upload failed" + e.getMessage());
-        }
-        saveImage(inputStream, filename);
+        saveImage(file, filename);
         return filename;
     }
 
-    @SneakyThrows
-    private void createBucket() {
+    /**
+     * Создание корзины для изображений, если она еще не существует.
+     *
+     * @throws Exception ошибка обращения к хранилищу.
+     */
+    private void createBucket() throws Exception {
         boolean found = minioClient.bucketExists(BucketExistsArgs.builder()
                 .bucket(minioProperties.getBucket())
                 .build());
@@ -57,28 +152,268 @@ public class ImageServiceImpl implements ImageService {
                     .bucket(minioProperties.getBucket())
                     .build());
         }
+        bucketReady = true;
     }
 
     private String generateFileName(final MultipartFile file) {
-        String extension = getExtension(file);
+        return generateFileName(file.getOriginalFilename());
+    }
+
+    private String generateFileName(final String originalFilename) {
+        String extension = getExtension(originalFilename);
         return UUID.randomUUID() + "." + extension;
     }
 
-    private String getExtension(final MultipartFile file) {
-        return file
-                .getOriginalFilename()
-                .substring(file
-                        .getOriginalFilename()
-                        .lastIndexOf(".") + 1);
+    private String getExtension(final String originalFilename) {
+        return originalFilename
+                .substring(originalFilename.lastIndexOf(".") + 1);
     }
 
-    @SneakyThrows
-    private void saveImage(
-            final InputStream inputStream, final String fileName) {
-        minioClient.putObject(PutObjectArgs.builder()
-                .stream(inputStream, inputStream.available(), -1)
-                .bucket(minioProperties.getBucket())
-                .object(fileName)
-                .build());
+    /**
+     * Потоковая загрузка файла в хранилище.
+     * Размер объекта берется из запроса, поэтому файл не буферизуется
+     * целиком: файлы больше размера части загружаются по частям.
+     *
+     * @param file     загружаемый файл.
+     * @param fileName имя объекта в хранилище.
+     */
+    private void saveImage(final MultipartFile file, final String fileName) {
+        try (InputStream inputStream = file.getInputStream()) {
+            minioClient.putObject(PutObjectArgs.builder()
+                    .stream(inputStream, file.getSize(),
+                            minioProperties.getPartSize())
+                    .contentType(file.getContentType())
+                    .bucket(minioProperties.getBucket())
+                    .object(fileName)
+                    .build());
+        } catch (Exception e) {
+            throw new ImageUploadException(
+                    "Image upload failed" + e.getMessage());
+        }
+    }
+
+    /**
+     * Постановка изображения в очередь создания копий.
+     * Если очередь заполнена, копии не создаются - клиенты
+     * используют оригинал изображения.
+     *
+     * @param fileName имя оригинала изображения в хранилище.
+     */
+    @Override
+    public void createVariants(final String fileName) {
+        try {
+            variantWorkers.execute(() -> writeVariants(fileName));
+        } catch (TaskRejectedException e) {
+            variantsFailed.increment();
+            log.warn("Variants for image {} skipped: queue is full",
+                    fileName);
+        }
+    }
+
+    /**
+     * Создание и загрузка в хранилище копий изображения.
+     * Оригинал читается из хранилища, так как к моменту обработки
+     * временный файл запроса уже удален.
+     *
+     * @param fileName имя оригинала изображения в хранилище.
+     */
+    private void writeVariants(final String fileName) {
+        try {
+            BufferedImage original;
+            try (InputStream inputStream = minioClient.getObject(
+                    GetObjectArgs.builder()
+                            .bucket(minioProperties.getBucket())
+                            .object(fileName)
+                            .build())) {
+                original = read(inputStream, imageProperties.getMaxPixels(),
+                        LARGEST_VARIANT);
+            }
+            if (original == null) {
+                variantsFailed.increment();
+                log.warn("Image {} has unsupported format", fileName);
+                return;
+            }
+            for (ImageVariant variant : ImageVariant.values()) {
+                byte[] bytes = resize(original, variant.getMaxSize());
+                minioClient.putObject(PutObjectArgs.builder()
+                        .stream(new ByteArrayInputStream(bytes),
+                                bytes.length, -1)
+                        .contentType("image/jpeg")
+                        .bucket(minioProperties.getBucket())
+                        .object(variant.key(fileName))
+                        .build());
+            }
+            variantsCreated.increment();
+        } catch (Exception e) {
+            variantsFailed.increment();
+            log.warn("Variants for image {} failed: {}",
+                    fileName, e.getMessage());
+        }
+    }
+
+    /**
+     * Чтение изображения для создания копий.
+     * Размер изображения проверяется по заголовку до декодирования,
+     * большие изображения декодируются с прореживанием пикселей
+     * до размера не меньше targetSize, поэтому изображение
+     * не загружается в память в полном разрешении.
+     *
+     * @param inputStream поток с изображением.
+     * @param maxPixels   максимальное количество пикселей изображения.
+     * @param targetSize  необходимый размер большей стороны в пикселях.
+     * @return изображение или null, если формат не поддерживается.
+     * @throws IOException ошибка чтения или изображение слишком большое.
+     */
+    static BufferedImage read(final InputStream inputStream,
+                              final long maxPixels,
+                              final int targetSize) throws IOException {
+        try (ImageInputStream input =
+                     ImageIO.createImageInputStream(inputStream)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IOException("Image " + width + "x" + height
+                            + " exceeds " + maxPixels + " pixels");
+                }
+                int step = Math.max(1,
+                        Math.max(width, height) / targetSize);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Уменьшение изображения с сохранением пропорций и кодирование в JPEG.
+     * Изображения меньше заданного размера не увеличиваются.
+     *
+     * @param original оригинал изображения.
+     * @param maxSize  максимальный размер большей стороны в пикселях.
+     * @return изображение в формате JPEG.
+     * @throws IOException ошибка кодирования изображения.
+     */
+    static byte[] resize(final BufferedImage original, final int maxSize)
+            throws IOException {
+        double scale = Math.min(1.0, (double) maxSize
+                / Math.max(original.getWidth(), original.getHeight()));
+        int width = Math.max(1, (int) Math.round(original.getWidth() * scale));
+        int height = Math.max(1,
+                (int) Math.round(original.getHeight() * scale));
+        BufferedImage resized = new BufferedImage(width, height,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            // У JPEG нет прозрачности, прозрачные области заливаются белым.
+            graphics.drawImage(original, 0, 0, width, height,
+                    Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(resized, "jpg", outputStream);
+        return outputStream.toByteArray();
+    }
+
+    @Override
+    public PresignedUrl createUploadUrl(final String prefix,
+                                        final String originalFilename) {
+        return createUrl(Method.PUT,
+                prefix + "/" + generateFileName(originalFilename));
+    }
+
+    @Override
+    public PresignedUrl createDownloadUrl(final String key) {
+        return createUrl(Method.GET, key);
+    }
+
+    @Override
+    public void verifyUpload(final String key) {
+        StatObjectResponse stat;
+        try {
+            stat = minioClient.statObject(StatObjectArgs.builder()
+                    .bucket(minioProperties.getBucket())
+                    .object(key)
+                    .build());
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                throw new ResourceNotFoundException("Image not found.");
+            }
+            throw new ImageUploadException(
+                    "Image upload failed" + e.getMessage());
+        } catch (Exception e) {
+            throw new ImageUploadException(
+                    "Image upload failed" + e.getMessage());
+        }
+        if (stat.size() > imageProperties.getMaxSize().toBytes()) {
+            try {
+                minioClient.removeObject(RemoveObjectArgs.builder()
+                        .bucket(minioProperties.getBucket())
+                        .object(key)
+                        .build());
+            } catch (Exception e) {
+                log.warn("Oversized image {} was not removed: {}",
+                        key, e.getMessage());
+            }
+            throw new ImageUploadException("Image is too large.");
+        }
+    }
+
+    /**
+     * Служебный метод создания подписанной ссылки.
+     * Ссылка подписывается локально, запроса к хранилищу не происходит.
+     *
+     * @param method HTTP метод, разрешенный по ссылке.
+     * @param key    имя изображения в хранилище.
+     * @return подписанная ссылка.
+     */
+    private PresignedUrl createUrl(final Method method, final String key) {
+        int expiry = (int) minioProperties.getPresignedUrlExpiry()
+                .toSeconds();
+        try {
+            String url = minioClient.getPresignedObjectUrl(
+                    GetPresignedObjectUrlArgs.builder()
+                            .method(method)
+                            .bucket(minioProperties.getBucket())
+                            .object(key)
+                            .expiry(expiry, TimeUnit.SECONDS)
+                            .build());
+            return new PresignedUrl(url, key,
+                    Instant.now().plusSeconds(expiry));
+        } catch (Exception e) {
+            throw new ImageUploadException(
+                    "Presigned url creation failed" + e.getMessage());
+        }
+    }
+
+    /**
+     * Регистрация метрик обработки изображений в micrometer.
+     *
+     * @param registry реестр метрик.
+     */
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder("image.variants.created", variantsCreated,
+                        LongAdder::sum)
+                .description("Images with generated variants")
+                .register(registry);
+        FunctionCounter.builder("image.variants.failed", variantsFailed,
+                        LongAdder::sum)
+                .description("Images whose variants were not generated")
+                .register(registry);
     }
 }
@@ -0,0 +1,330 @@
+package ru.maliutin.tasklist.service.impl;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.maliutin.tasklist.service.props.MailDispatchProperties;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Очередь отправки писем.
+ * Письма помещаются в очередь в памяти и отправляются потоками отправки
+ * пачками: каждая пачка отправляется через одно соединение
+ * с почтовым сервером. Неотправленные письма повторно помещаются
+ * в очередь с увеличивающейся задержкой. Результат отправки письма
+ * (доставка или отказ после всех попыток) передается через
+ * CompletableFuture, возвращаемый при постановке в очередь.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MailDispatcher implements MeterBinder {
+    /**
+     * Интерфейс Spring Framework для отправки электронных писем.
+     */
+    private final JavaMailSender mailSender;
+    /**
+     * Настройки очереди отправки писем.
+     */
+    private final MailDispatchProperties properties;
+    /**
+     * Фабрика потоков отправки писем.
+     */
+    private final WorkerThreads workerThreads;
+
+    /**
+     * Количество отправленных писем.
+     */
+    private final LongAdder sent = new LongAdder();
+    /**
+     * Количество повторных попыток отправки.
+     */
+    private final LongAdder retried = new LongAdder();
+    /**
+     * Количество писем, которые не удалось отправить за все попытки.
+     */
+    private final LongAdder failed = new LongAdder();
+    /**
+     * Очередь писем ожидающих отправки.
+     */
+    private BlockingQueue<Delivery> queue;
+    /**
+     * Планировщик повторных попыток отправки.
+     */
+    private ScheduledExecutorService retryScheduler;
+    /**
+     * Письма, ожидающие повторной попытки отправки.
+     * При остановке очереди отправляются без ожидания задержки.
+     */
+    private final Set<Delivery> delayed = ConcurrentHashMap.newKeySet();
+    /**
+     * Потоки отправки писем.
+     */
+    private final List<Thread> workers = new ArrayList<>();
+    /**
+     * Признак работы очереди.
+     */
+    private volatile boolean running;
+
+    /**
+     * Письмо в очереди вместе с номером попытки отправки
+     * и результатом отправки.
+     */
+    @AllArgsConstructor
+    private static final class Delivery {
+        private final MimeMessage message;
+        private final int attempt;
+        private final CompletableFuture<Void> result;
+    }
+
+    /**
+     * Запуск потоков отправки писем.
+     */
+    @PostConstruct
+    public void start() {
+        queue = new LinkedBlockingQueue<>(properties.getQueueCapacity());
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(
+                workerThreads.factory("mail-retry-"));
+        ThreadFactory threadFactory = workerThreads.factory("mail-dispatch-");
+        running = true;
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            Thread worker = threadFactory.newThread(this::work);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Остановка очереди. Письма, ожидающие повторной попытки,
+     * возвращаются в очередь без задержки. Потоки отправки завершаются
+     * после отправки писем, оставшихся в очереди; письма, которые
+     * не удалось отправить при остановке, завершаются ошибкой.
+     *
+     * @throws InterruptedException поток прерван во время ожидания.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        retryScheduler.shutdownNow();
+        for (Delivery delivery : delayed) {
+            if (delayed.remove(delivery)) {
+                enqueue(delivery);
+            }
+        }
+        running = false;
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /**
+     * Постановка письма в очередь отправки.
+     * Метод не ждет отправки письма. Если вызов выполняется
+     * в транзакции, письмо попадает в очередь только после
+     * ее успешного завершения.
+     *
+     * @param message письмо.
+     * @return результат отправки: завершается после доставки письма
+     * или с ошибкой, если письмо не удалось отправить за все попытки
+     * (или транзакция была отменена).
+     */
+    public CompletableFuture<Void> dispatch(final MimeMessage message) {
+        Delivery delivery = new Delivery(message, 1,
+                new CompletableFuture<>());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(final int status) {
+                            if (status == STATUS_COMMITTED) {
+                                enqueue(delivery);
+                            } else {
+                                delivery.result.completeExceptionally(
+                                        new IllegalStateException(
+                                                "Transaction rolled back"));
+                            }
+                        }
+                    });
+        } else {
+            enqueue(delivery);
+        }
+        return delivery.result;
+    }
+
+    /**
+     * Количество писем в очереди.
+     *
+     * @return размер очереди.
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Служебный метод постановки письма в очередь.
+     * Если очередь заполнена, письмо ставится в очередь повторно
+     * после задержки.
+     *
+     * @param delivery письмо.
+     */
+    private void enqueue(final Delivery delivery) {
+        if (!queue.offer(delivery)) {
+            retry(delivery, new IllegalStateException("Mail queue is full"));
+        }
+    }
+
+    /**
+     * Цикл потока отправки: ожидание писем и отправка их пачками.
+     */
+    private void work() {
+        List<Delivery> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                Delivery first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Отправка пачки писем через одно соединение с почтовым сервером.
+     *
+     * @param batch пачка писем.
+     */
+    private void send(final List<Delivery> batch) {
+        Map<MimeMessage, Delivery> deliveries = new IdentityHashMap<>();
+        batch.forEach(delivery -> deliveries.put(delivery.message, delivery));
+        try {
+            mailSender.send(deliveries.keySet().toArray(new MimeMessage[0]));
+            batch.forEach(this::complete);
+        } catch (MailSendException e) {
+            // Повторно отправляются только письма, которые не были приняты.
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                batch.forEach(delivery -> retry(delivery, e));
+                return;
+            }
+            for (Delivery delivery : batch) {
+                Exception cause = failedMessages.get(delivery.message);
+                if (cause == null) {
+                    complete(delivery);
+                } else {
+                    retry(delivery, cause);
+                }
+            }
+        } catch (MailException e) {
+            log.warn("Mail batch failed: {}", e.getMessage());
+            batch.forEach(delivery -> retry(delivery, e));
+        }
+    }
+
+    /**
+     * Служебный метод завершения отправки доставленного письма.
+     *
+     * @param delivery письмо.
+     */
+    private void complete(final Delivery delivery) {
+        sent.increment();
+        delivery.result.complete(null);
+    }
+
+    /**
+     * Служебный метод повторной постановки письма в очередь
+     * с экспоненциальной задержкой. Если попытки исчерпаны
+     * или очередь остановлена, отправка письма завершается ошибкой.
+     *
+     * @param delivery письмо.
+     * @param cause    причина неудачной попытки.
+     */
+    private void retry(final Delivery delivery, final Exception cause) {
+        if (delivery.attempt >= properties.getMaxAttempts()
+                || retryScheduler.isShutdown()) {
+            failed.increment();
+            log.warn("Mail dropped after {} attempts", delivery.attempt);
+            delivery.result.completeExceptionally(cause);
+            return;
+        }
+        retried.increment();
+        long backoff = Math.min(
+                properties.getInitialBackoff().toMillis()
+                        << Math.min(delivery.attempt - 1, 20),
+                properties.getMaxBackoff().toMillis());
+        Delivery next = new Delivery(delivery.message, delivery.attempt + 1,
+                delivery.result);
+        delayed.add(next);
+        try {
+            retryScheduler.schedule(() -> {
+                if (delayed.remove(next)) {
+                    enqueue(next);
+                }
+            }, backoff, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Очередь остановлена, письмо отправляется при остановке
+            // или завершается ошибкой, если потоки отправки уже завершены.
+            if (delayed.remove(next)) {
+                failed.increment();
+                next.result.completeExceptionally(cause);
+            }
+        }
+    }
+
+    /**
+     * Регистрация метрик очереди в micrometer.
+     *
+     * @param registry реестр метрик.
+     */
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("mail.dispatch.queue", this, MailDispatcher::size)
+                .description("Mails waiting to be sent")
+                .register(registry);
+        FunctionCounter.builder("mail.dispatch.sent", sent, LongAdder::sum)
+                .description("Mails sent")
+                .register(registry);
+        FunctionCounter.builder("mail.dispatch.retried", retried,
+                        LongAdder::sum)
+                .description("Mail send retries")
+                .register(registry);
+        FunctionCounter.builder("mail.dispatch.failed", failed,
+                        LongAdder::sum)
+                .description("Mails dropped after all attempts")
+                .register(registry);
+    }
+}
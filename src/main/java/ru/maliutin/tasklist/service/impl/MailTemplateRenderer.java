@@ -0,0 +1,73 @@
+package ru.maliutin.tasklist.service.impl;
+
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import freemarker.template.TemplateException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.maliutin.tasklist.domain.MailType;
+import ru.maliutin.tasklist.domain.mail.MailModel;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Наполнение писем по шаблонам freemarker.
+ * Шаблоны загружаются и разбираются один раз при старте приложения.
+ */
+@Component
+@RequiredArgsConstructor
+public class MailTemplateRenderer {
+    /**
+     * Начальный размер буфера (размер шаблонов писем около 2 Кб).
+     */
+    private static final int INITIAL_CAPACITY = 4 * 1024;
+
+    /**
+     * Поле конфигурации письма (как будет выглядеть) из библиотеки freemarker.
+     */
+    private final Configuration configuration;
+    /**
+     * Разобранные шаблоны по типу письма.
+     */
+    private final Map<MailType, Template> templates =
+            new EnumMap<>(MailType.class);
+
+    /**
+     * Загрузка шаблонов писем.
+     *
+     * @throws IOException шаблон не найден или содержит ошибки.
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        templates.put(MailType.REGISTRATION,
+                configuration.getTemplate("register.ftlh"));
+        templates.put(MailType.REMINDER,
+                configuration.getTemplate("reminder.ftlh"));
+    }
+
+    /**
+     * Формирование текста письма по шаблону его типа.
+     *
+     * @param model данные письма.
+     * @return содержание письма в строковом представлении.
+     */
+    public String render(final MailModel model) {
+        Template template = templates.get(model.getType());
+        if (template == null) {
+            throw new IllegalStateException(
+                    "No template for mail type " + model.getType());
+        }
+        StringWriter writer = new StringWriter(INITIAL_CAPACITY);
+        try {
+            template.process(model, writer);
+            return writer.toString();
+        } catch (TemplateException | IOException e) {
+            throw new IllegalStateException(
+                    "Mail rendering failed: " + e.getMessage(), e);
+        }
+    }
+}
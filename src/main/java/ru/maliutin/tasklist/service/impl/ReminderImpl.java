@@ -1,43 +1,202 @@
 package ru.maliutin.tasklist.service.impl;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import ru.maliutin.tasklist.domain.MailType;
-import ru.maliutin.tasklist.domain.task.Task;
+import ru.maliutin.tasklist.domain.mail.ReminderMail;
+import ru.maliutin.tasklist.domain.task.TaskReminder;
 import ru.maliutin.tasklist.domain.user.User;
 import ru.maliutin.tasklist.service.MailService;
 import ru.maliutin.tasklist.service.Reminder;
 import ru.maliutin.tasklist.service.TaskService;
-import ru.maliutin.tasklist.service.UserService;
+import ru.maliutin.tasklist.service.props.ReminderProperties;
 
 import java.time.Duration;
 import java.util.List;
-import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Сервис напоминаний о задачах, срок выполнения которых скоро наступит.
+ * Задачи выбираются страницами вместе с авторами, каждое напоминание
+ * перед отправкой закрепляется в таблице task_reminders,
+ * поэтому о задаче напоминают один раз даже при нескольких узлах.
+ * Письма отправляются пулом потоков ограниченного размера.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class ReminderImpl implements Reminder {
+public class ReminderImpl implements Reminder, MeterBinder {
 
     private final TaskService taskService;
-    private final UserService userService;
     private final MailService mailService;
+    private final ReminderProperties reminderProperties;
+    private final WorkerThreads workerThreads;
 
-    private final Duration DURATION = Duration.ofHours(1);
+    /**
+     * Количество отправленных напоминаний.
+     */
+    private final LongAdder sent = new LongAdder();
+    /**
+     * Количество напоминаний, которые не удалось отправить.
+     */
+    private final LongAdder failed = new LongAdder();
+    /**
+     * Количество закрепленных, но еще не отправленных напоминаний.
+     */
+    private final AtomicInteger backlog = new AtomicInteger();
+    /**
+     * Пул потоков отправки напоминаний.
+     */
+    private ThreadPoolTaskExecutor senders;
+    /**
+     * Время до срока выполнения задачи в виде текста для писем.
+     */
+    private String window;
 
-    // Указание методу выполнятся раз час (каждые 00 минут)
-//    @Scheduled(cron = "0 0 * * * *")
+    /**
+     * Создание пула потоков отправки напоминаний.
+     * При заполнении очереди напоминание отправляет
+     * поток планировщика, что ограничивает выборку новых задач.
+     */
+    @PostConstruct
+    public void init() {
+        window = formatWindow(reminderProperties.getWindow());
+        senders = new ThreadPoolTaskExecutor();
+        senders.setCorePoolSize(reminderProperties.getSenders());
+        senders.setMaxPoolSize(reminderProperties.getSenders());
+        senders.setQueueCapacity(reminderProperties.getQueueCapacity());
+        senders.setThreadFactory(workerThreads.factory("reminder-"));
+        senders.setRejectedExecutionHandler(
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        senders.setWaitForTasksToCompleteOnShutdown(true);
+        senders.initialize();
+    }
+
+    /**
+     * Остановка пула потоков с отправкой уже закрепленных напоминаний.
+     */
+    @PreDestroy
+    public void destroy() {
+        senders.shutdown();
+    }
+
+    // Указание методу выполнятся раз в минуту (каждые 00 секунд)
     @Scheduled(cron = "0 * * * * *")
     @Override
     public void remindForTask() {
-        // Получаем задачи до истечения которых остался час.
-        List<Task> tasks = taskService.getAllSoonTasks(DURATION);
-        tasks.forEach(task -> {
-            User user = userService.getTaskAuthor(task.getId());
-            Properties properties = new Properties();
-            properties.setProperty("task.title", task.getTitle());
-            properties.setProperty("task.description", task.getDescription());
-            mailService.sendEmail(user, MailType.REMINDER, properties);
+        int pageSize = reminderProperties.getPageSize();
+        long afterId = 0;
+        List<TaskReminder> reminders;
+        do {
+            // Получаем задачи до истечения которых осталось
+            // не больше заданного времени вместе с их авторами.
+            reminders = taskService.getDueReminders(
+                    reminderProperties.getWindow(), afterId, pageSize);
+            for (TaskReminder reminder : reminders) {
+                afterId = reminder.getTaskId();
+                if (taskService.claimReminder(reminder)) {
+                    backlog.incrementAndGet();
+                    senders.execute(() -> send(reminder));
+                }
+            }
+        } while (reminders.size() == pageSize);
+    }
+
+    /**
+     * Отправка напоминания автору задачи.
+     * Напоминание считается отправленным после доставки письма.
+     * Если письмо отправить не удалось, отметка о напоминании снимается
+     * и напоминание будет отправлено при следующем запуске.
+     *
+     * @param reminder напоминание.
+     */
+    private void send(final TaskReminder reminder) {
+        CompletableFuture<Void> result;
+        try {
+            User user = new User();
+            user.setName(reminder.getUserName());
+            user.setUsername(reminder.getUsername());
+            result = mailService.sendEmail(user, new ReminderMail(
+                    reminder.getUserName(), reminder.getTitle(),
+                    reminder.getDescription(), window));
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((ignored, error) -> {
+            try {
+                if (error == null) {
+                    sent.increment();
+                } else {
+                    failed.increment();
+                    log.warn("Reminder for task {} failed: {}",
+                            reminder.getTaskId(), error.getMessage());
+                    taskService.releaseReminder(reminder);
+                }
+            } finally {
+                backlog.decrementAndGet();
+            }
         });
     }
+
+    /**
+     * Представление интервала напоминания в виде текста,
+     * например "1 hour", "30 minutes" или "1 hour 30 minutes".
+     *
+     * @param duration интервал до срока выполнения задачи.
+     * @return интервал в виде текста.
+     */
+    static String formatWindow(final Duration duration) {
+        long hours = duration.toHours();
+        int minutes = duration.toMinutesPart();
+        if (hours == 0 && minutes == 0) {
+            return plural(duration.toSeconds(), "second");
+        }
+        if (minutes == 0) {
+            return plural(hours, "hour");
+        }
+        if (hours == 0) {
+            return plural(minutes, "minute");
+        }
+        return plural(hours, "hour") + " " + plural(minutes, "minute");
+    }
+
+    /**
+     * Количество с единицей измерения в нужном числе.
+     *
+     * @param amount количество.
+     * @param unit   единица измерения в единственном числе.
+     * @return количество с единицей измерения.
+     */
+    private static String plural(final long amount, final String unit) {
+        return amount + " " + (amount == 1 ? unit : unit + "s");
+    }
+
+    /**
+     * Регистрация метрик напоминаний в micrometer.
+     *
+     * @param registry реестр метрик.
+     */
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder("reminder.sent", sent, LongAdder::sum)
+                .description("Task reminders sent")
+                .register(registry);
+        FunctionCounter.builder("reminder.failed", failed, LongAdder::sum)
+                .description("Task reminders failed")
+                .register(registry);
+        Gauge.builder("reminder.backlog", backlog, AtomicInteger::get)
+                .description("Claimed task reminders waiting to be sent")
+                .register(registry);
+    }
 }
@@ -0,0 +1,213 @@
+package ru.maliutin.tasklist.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import ru.maliutin.tasklist.domain.task.TaskChangedEvent;
+import ru.maliutin.tasklist.service.props.TaskEventProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Доставка событий изменения задач подписчикам владельца задачи.
+ * События принимаются после фиксации транзакции, отправляются
+ * подписчикам узла и пересылаются остальным узлам через Redis.
+ * У каждого подписчика ограниченный буфер событий: при переполнении
+ * (медленный клиент) подписка завершается ошибкой, остальные
+ * подписчики и сервис изменения задач не ждут.
+ * Формат сообщения Redis: "идентификатор узла\nвид\nid задачи\nid владельца".
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskEventBus implements MessageListener {
+    /**
+     * Канал пересылки событий между узлами.
+     */
+    static final String CHANNEL = "tasks:changed";
+
+    /**
+     * Поле с клиентом Redis.
+     */
+    private final StringRedisTemplate redisTemplate;
+    /**
+     * Поле с контейнером подписок на каналы Redis.
+     */
+    private final RedisMessageListenerContainer listenerContainer;
+    /**
+     * Поле с настройками подписок.
+     */
+    private final TaskEventProperties properties;
+    /**
+     * Идентификатор узла, собственные сообщения узел пропускает.
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+    /**
+     * Подписчики узла по идентификатору пользователя.
+     */
+    private final Map<Long, Set<Subscriber>> subscribers =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Подписка на канал событий других узлов.
+     */
+    @PostConstruct
+    public void subscribeChannel() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Подписка на изменения задач пользователя.
+     * Подписчик регистрируется при подписке на поток
+     * и удаляется при ее завершении.
+     *
+     * @param userId идентификатор пользователя.
+     * @return поток событий изменения задач пользователя.
+     */
+    public Flux<TaskChangedEvent> subscribe(final long userId) {
+        return Flux.defer(() -> {
+            Subscriber subscriber = new Subscriber(properties.getBufferSize());
+            Set<Subscriber> userSubscribers = subscribers.compute(userId,
+                    (id, current) -> {
+                        Set<Subscriber> result = current == null
+                                ? ConcurrentHashMap.newKeySet() : current;
+                        if (result.size()
+                                < properties.getMaxSubscribersPerUser()) {
+                            result.add(subscriber);
+                        }
+                        return result;
+                    });
+            if (!userSubscribers.contains(subscriber)) {
+                return Flux.error(new IllegalStateException(
+                        "Too many subscriptions."));
+            }
+            // Отправка клиенту выполняется вне потока, изменившего задачу.
+            return subscriber.sink.asFlux()
+                    .publishOn(Schedulers.boundedElastic(), 1)
+                    .doFinally(signal -> unsubscribe(userId, subscriber));
+        });
+    }
+
+    /**
+     * Обработка изменения задачи после фиксации транзакции
+     * (или сразу, если транзакции нет).
+     *
+     * @param event событие изменения задачи.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(final TaskChangedEvent event) {
+        deliver(event);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, nodeId + "\n"
+                    + event.getType() + "\n"
+                    + event.getTaskId() + "\n"
+                    + event.getUserId());
+        } catch (RuntimeException e) {
+            log.warn("Task event was not published: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Обработка события от другого узла.
+     *
+     * @param message сообщение Redis.
+     * @param pattern шаблон канала.
+     */
+    @Override
+    public void onMessage(final Message message, final byte[] pattern) {
+        String[] parts = new String(message.getBody(),
+                StandardCharsets.UTF_8).split("\n");
+        if (parts.length != 4 || nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            deliver(new TaskChangedEvent(
+                    TaskChangedEvent.Type.valueOf(parts[1]),
+                    Long.parseLong(parts[2]),
+                    Long.parseLong(parts[3])));
+        } catch (IllegalArgumentException e) {
+            log.warn("Malformed task event: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Служебный метод отправки события подписчикам узла.
+     *
+     * @param event событие изменения задачи.
+     */
+    private void deliver(final TaskChangedEvent event) {
+        Set<Subscriber> userSubscribers = subscribers.get(event.getUserId());
+        if (userSubscribers != null) {
+            userSubscribers.forEach(subscriber -> subscriber.emit(event));
+        }
+    }
+
+    /**
+     * Служебный метод удаления подписчика.
+     *
+     * @param userId     идентификатор пользователя.
+     * @param subscriber подписчик.
+     */
+    private void unsubscribe(final long userId, final Subscriber subscriber) {
+        subscribers.computeIfPresent(userId, (id, current) -> {
+            current.remove(subscriber);
+            return current.isEmpty() ? null : current;
+        });
+    }
+
+    /**
+     * Подписчик с ограниченным буфером событий.
+     */
+    private static final class Subscriber {
+        /**
+         * Источник событий подписчика.
+         */
+        private final Sinks.Many<TaskChangedEvent> sink;
+        /**
+         * Блокировка добавления событий. Вместо synchronized, чтобы
+         * ожидающий виртуальный поток не занимал поток-носитель.
+         */
+        private final ReentrantLock lock = new ReentrantLock();
+
+        Subscriber(final int bufferSize) {
+            this.sink = Sinks.many().unicast().onBackpressureBuffer(
+                    new ArrayBlockingQueue<>(bufferSize));
+        }
+
+        /**
+         * Добавление события в буфер. События могут поступать
+         * одновременно из нескольких потоков, поэтому добавление
+         * выполняется последовательно (без ожидания клиента).
+         *
+         * @param event событие изменения задачи.
+         */
+        void emit(final TaskChangedEvent event) {
+            lock.lock();
+            try {
+                if (sink.tryEmitNext(event)
+                        == Sinks.EmitResult.FAIL_OVERFLOW) {
+                    sink.tryEmitError(new IllegalStateException(
+                            "Subscriber is too slow, events were dropped."));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package ru.maliutin.tasklist.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import ru.maliutin.tasklist.repository.UserRepository;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Индекс владения задачами: отсортированный массив идентификаторов
+ * задач пользователя, загружаемый одним запросом и хранящийся в кеше.
+ * Индекс удаляется из кеша после создания и удаления задач
+ * пользователя (CacheInvalidator).
+ * Задачи, отсутствующие в индексе, проверяются запросом к БД:
+ * индекс, загруженный параллельно с созданием задачи,
+ * может не содержать новую задачу.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskOwnershipIndex {
+    static final String CACHE = "TaskOwnershipIndex::getTaskIds";
+
+    /**
+     * Поле с репозиторием объекта User.
+     */
+    private final UserRepository userRepository;
+    /**
+     * Менеджер кешей.
+     */
+    private final CacheManager cacheManager;
+
+    /**
+     * Получение отсортированных идентификаторов задач пользователя.
+     *
+     * @param userId идентификатор пользователя.
+     * @return массив идентификаторов задач.
+     */
+    public long[] getTaskIds(final long userId) {
+        Cache cache = cacheManager.getCache(CACHE);
+        if (cache == null) {
+            return load(userId);
+        }
+        return cache.get(userId, () -> load(userId));
+    }
+
+    /**
+     * Проверка, принадлежит ли задача пользователю.
+     *
+     * @param userId идентификатор пользователя.
+     * @param taskId идентификатор задачи.
+     * @return true - если принадлежит, иначе false.
+     */
+    public boolean owns(final long userId, final long taskId) {
+        if (Arrays.binarySearch(getTaskIds(userId), taskId) >= 0) {
+            return true;
+        }
+        return confirm(userId, Set.of(taskId));
+    }
+
+    /**
+     * Проверка, принадлежат ли пользователю все задачи.
+     *
+     * @param userId  идентификатор пользователя.
+     * @param taskIds идентификаторы задач.
+     * @return true - если принадлежат все задачи, иначе false.
+     */
+    public boolean ownsAll(final long userId,
+                           final Collection<Long> taskIds) {
+        long[] owned = getTaskIds(userId);
+        Set<Long> missing = taskIds.stream()
+                .filter(taskId -> Arrays.binarySearch(owned, taskId) < 0)
+                .collect(Collectors.toSet());
+        return missing.isEmpty() || confirm(userId, missing);
+    }
+
+    /**
+     * Служебный метод проверки задач, отсутствующих в индексе.
+     * Если задачи принадлежат пользователю, индекс устарел
+     * и удаляется из кеша.
+     *
+     * @param userId  идентификатор пользователя.
+     * @param taskIds идентификаторы задач.
+     * @return true - если принадлежат все задачи, иначе false.
+     */
+    private boolean confirm(final long userId, final Set<Long> taskIds) {
+        if (userRepository.countOwnedTasks(userId, taskIds)
+                < taskIds.size()) {
+            return false;
+        }
+        Cache cache = cacheManager.getCache(CACHE);
+        if (cache != null) {
+            cache.evict(userId);
+        }
+        return true;
+    }
+
+    /**
+     * Служебный метод загрузки индекса из БД.
+     *
+     * @param userId идентификатор пользователя.
+     * @return отсортированный массив идентификаторов задач.
+     */
+    private long[] load(final long userId) {
+        return userRepository.findTaskIdsByUserId(userId).stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+    }
+}
@@ -1,15 +1,22 @@
 package ru.maliutin.tasklist.service.impl;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
+import org.hibernate.Hibernate;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.maliutin.tasklist.domain.exception.ResourceNotFoundException;
+import ru.maliutin.tasklist.domain.task.ImageVariant;
+import ru.maliutin.tasklist.domain.task.PresignedUrl;
 import ru.maliutin.tasklist.domain.task.Status;
 import ru.maliutin.tasklist.domain.task.Task;
+import ru.maliutin.tasklist.domain.task.TaskChangedEvent;
+import ru.maliutin.tasklist.domain.task.TaskCursor;
 import ru.maliutin.tasklist.domain.task.TaskImage;
+import ru.maliutin.tasklist.domain.task.TaskPage;
+import ru.maliutin.tasklist.domain.task.TaskReminder;
+import ru.maliutin.tasklist.domain.task.TaskSort;
 import ru.maliutin.tasklist.repository.TaskRepository;
 import ru.maliutin.tasklist.service.ImageService;
 import ru.maliutin.tasklist.service.TaskService;
@@ -17,7 +24,10 @@ import ru.maliutin.tasklist.service.TaskService;
 import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Класс реализующий интерфейс TaskService и содержащий бизнес-логику программы.
@@ -41,6 +51,14 @@ public class TaskServiceImpl implements TaskService {
     private final TaskRepository taskRepository;
 
     private final ImageService imageService;
+    /**
+     * Поле с объектом удаления устаревших записей кеша.
+     */
+    private final CacheInvalidator cacheInvalidator;
+    /**
+     * Поле с объектом публикации событий изменения задач.
+     */
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Получение задачи по идентификатору.
@@ -50,12 +68,17 @@ public class TaskServiceImpl implements TaskService {
      * @throws ResourceNotFoundException задача не найдена.
      */
     @Override
+    @Transactional(readOnly = true)
     @Cacheable(value = "TaskService::getById", key = "#id")
     public Task getById(final long id) throws ResourceNotFoundException {
-        return taskRepository
+        Task task = taskRepository
                 .findById(id)
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Task not found."));
+        // Изображения загружаются сразу, так как задача кешируется
+        // и используется вне сессии Hibernate.
+        Hibernate.initialize(task.getImages());
+        return task;
     }
 
     /**
@@ -69,6 +92,132 @@ public class TaskServiceImpl implements TaskService {
         return taskRepository.findAllByUserId(userId);
     }
 
+    /**
+     * Получение страницы задач пользователя.
+     * Выбирается на одну задачу больше размера страницы,
+     * чтобы определить наличие следующей страницы.
+     *
+     * @param userId идентификатор пользователя.
+     * @param sort   порядок выдачи (null - по id).
+     * @param cursor курсор предыдущей страницы (null - первая страница).
+     * @param limit  размер страницы (null - размер по умолчанию).
+     * @return страница задач.
+     */
+    @Override
+    public TaskPage getPageByUserId(final long userId,
+                                    final TaskSort sort,
+                                    final String cursor,
+                                    final Integer limit) {
+        TaskSort order = sort == null ? TaskSort.ID : sort;
+        int size = limit == null ? DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        TaskCursor after = cursor == null || cursor.isEmpty()
+                ? null : TaskCursor.decode(cursor, order);
+        List<Task> tasks = findPage(userId, order, after, size + 1);
+        String nextCursor = null;
+        if (tasks.size() > size) {
+            tasks = tasks.subList(0, size);
+            nextCursor = TaskCursor.after(order, tasks.get(size - 1)).encode();
+        }
+        // Изображения подгружаются пачками пока открыта транзакция.
+        tasks.forEach(task -> Hibernate.initialize(task.getImages()));
+        return new TaskPage(tasks, nextCursor);
+    }
+
+    /**
+     * Получение нескольких задач одним запросом.
+     * Изображения не загружаются: при необходимости они выбираются
+     * для всех задач сразу через getImages.
+     *
+     * @param ids идентификаторы задач.
+     * @return лист найденных задач.
+     */
+    @Override
+    public List<Task> getAllByIds(final Collection<Long> ids) {
+        return ids.isEmpty() ? List.of() : taskRepository.findAllById(ids);
+    }
+
+    /**
+     * Получение идентификаторов задач нескольких пользователей.
+     *
+     * @param userIds идентификаторы пользователей.
+     * @return идентификаторы задач по идентификатору пользователя.
+     */
+    @Override
+    public Map<Long, List<Long>> getIdsByUserIds(
+            final Collection<Long> userIds) {
+        return taskRepository.findTaskIdsByUserIds(userIds);
+    }
+
+    /**
+     * Получение имен изображений нескольких задач.
+     *
+     * @param ids идентификаторы задач.
+     * @return имена изображений по идентификатору задачи.
+     */
+    @Override
+    public Map<Long, List<String>> getImages(final Collection<Long> ids) {
+        return taskRepository.findImages(ids);
+    }
+
+    /**
+     * Получение владельцев нескольких задач.
+     *
+     * @param ids идентификаторы задач.
+     * @return идентификаторы пользователей по идентификатору задачи.
+     */
+    @Override
+    public Map<Long, Long> getOwnerIds(final Collection<Long> ids) {
+        return taskRepository.findOwnerIds(ids);
+    }
+
+    /**
+     * Служебный метод публикации события изменения задачи.
+     * Подписчики получают событие после фиксации транзакции.
+     *
+     * @param type   вид изменения.
+     * @param taskId идентификатор задачи.
+     * @param userId идентификатор владельца (null - владелец не найден).
+     */
+    private void publishChange(final TaskChangedEvent.Type type,
+                               final long taskId,
+                               final Long userId) {
+        if (userId != null) {
+            eventPublisher.publishEvent(
+                    new TaskChangedEvent(type, taskId, userId));
+        }
+    }
+
+    /**
+     * Служебный метод выбора запроса страницы по порядку выдачи и курсору.
+     *
+     * @param userId идентификатор пользователя.
+     * @param sort   порядок выдачи.
+     * @param after  курсор предыдущей страницы.
+     * @param limit  количество выбираемых задач.
+     * @return лист задач.
+     */
+    private List<Task> findPage(final long userId,
+                                final TaskSort sort,
+                                final TaskCursor after,
+                                final int limit) {
+        if (sort == TaskSort.ID) {
+            return taskRepository.findPageByUserIdOrderById(
+                    userId, after == null ? 0 : after.getId(), limit);
+        }
+        if (after == null) {
+            return taskRepository.findFirstPageByUserIdOrderByExpiration(
+                    userId, limit);
+        }
+        if (after.getExpirationDate() == null) {
+            return taskRepository.findPageWithoutExpirationByUserId(
+                    userId, after.getId(), limit);
+        }
+        return taskRepository.findPageByUserIdOrderByExpiration(userId,
+                Timestamp.valueOf(after.getExpirationDate()),
+                after.getId(), limit);
+    }
+
     /**
      * Обновление задачи.
      *
@@ -77,12 +226,16 @@ public class TaskServiceImpl implements TaskService {
      */
     @Override
     @Transactional
-    @CachePut(value = "TaskService::getById", key = "#task.id")
     public Task update(final Task task) {
         if (task.getStatus() == null) {
             task.setStatus(Status.TODO);
         }
         taskRepository.save(task);
+        // Запись удаляется, а не заменяется: у переданной задачи
+        // может не быть изображений, и в кеш попала бы неполная задача.
+        cacheInvalidator.taskUpdated(task.getId());
+        publishChange(TaskChangedEvent.Type.UPDATED, task.getId(),
+                taskRepository.findOwnerId(task.getId()).orElse(null));
         return task;
     }
 
@@ -105,6 +258,8 @@ public class TaskServiceImpl implements TaskService {
         }
         taskRepository.save(task);
         taskRepository.assignTask(userId, task.getId());
+        cacheInvalidator.taskCreated(task.getId(), userId);
+        publishChange(TaskChangedEvent.Type.CREATED, task.getId(), userId);
         return task;
     }
 
@@ -115,29 +270,173 @@ public class TaskServiceImpl implements TaskService {
      */
     @Override
     @Transactional
-    @CacheEvict(value = "TaskService::getById", key = "#id")
     public void delete(final long id) {
+        // Владелец запоминается до удаления, связь удаляется каскадно.
+        Long ownerId = taskRepository.findOwnerId(id).orElse(null);
         taskRepository.deleteById(id);
+        cacheInvalidator.taskDeleted(id, ownerId);
+        publishChange(TaskChangedEvent.Type.DELETED, id, ownerId);
+    }
+
+    /**
+     * Создание нескольких задач.
+     * Задачи и их связи с пользователем записываются пачками.
+     *
+     * @param tasks  новые задачи.
+     * @param userId идентификатор пользователя.
+     * @return созданные задачи.
+     */
+    @Override
+    @Transactional
+    public List<Task> createAll(final List<Task> tasks, final long userId) {
+        tasks.stream()
+                .filter(task -> task.getStatus() == null)
+                .forEach(task -> task.setStatus(Status.TODO));
+        taskRepository.insertAll(tasks, userId);
+        tasks.forEach(task -> {
+            cacheInvalidator.taskCreated(task.getId(), userId);
+            publishChange(TaskChangedEvent.Type.CREATED, task.getId(), userId);
+        });
+        return tasks;
+    }
+
+    /**
+     * Обновление нескольких задач.
+     * Если одна из задач не найдена, изменения отменяются.
+     *
+     * @param tasks задачи.
+     * @return обновленные задачи.
+     */
+    @Override
+    @Transactional
+    public List<Task> updateAll(final List<Task> tasks) {
+        tasks.stream()
+                .filter(task -> task.getStatus() == null)
+                .forEach(task -> task.setStatus(Status.TODO));
+        int[] counts = taskRepository.updateAll(tasks);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                throw new ResourceNotFoundException(
+                        "Task not found: " + tasks.get(i).getId());
+            }
+            cacheInvalidator.taskUpdated(tasks.get(i).getId());
+        }
+        Map<Long, Long> owners = taskRepository.findOwnerIds(
+                tasks.stream().map(Task::getId).toList());
+        tasks.forEach(task -> publishChange(TaskChangedEvent.Type.UPDATED,
+                task.getId(), owners.get(task.getId())));
+        return tasks;
+    }
+
+    /**
+     * Удаление нескольких задач.
+     *
+     * @param ids идентификаторы задач.
+     */
+    @Override
+    @Transactional
+    public void deleteAll(final Collection<Long> ids) {
+        // Владельцы запоминаются до удаления, связи удаляются каскадно.
+        Map<Long, Long> owners = taskRepository.findOwnerIds(ids);
+        taskRepository.deleteAllByIds(ids);
+        ids.forEach(id -> {
+            cacheInvalidator.taskDeleted(id, owners.get(id));
+            publishChange(TaskChangedEvent.Type.DELETED, id, owners.get(id));
+        });
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "TaskService::getById", key = "#id")
     public void uploadImage(final Long id, final TaskImage image) {
         String fileName = imageService.upload(image);
         taskRepository.addImage(id, fileName);
+        cacheInvalidator.taskUpdated(id);
+        publishChange(TaskChangedEvent.Type.UPDATED, id,
+                taskRepository.findOwnerId(id).orElse(null));
+        imageService.createVariants(fileName);
+    }
+
+    @Override
+    public PresignedUrl createImageUploadUrl(final Long taskId,
+                                             final String fileName) {
+        // Имя изображения начинается с id задачи, это позволяет
+        // при завершении загрузки проверить, что изображение
+        // загружено для этой задачи.
+        return imageService.createUploadUrl(taskId.toString(), fileName);
+    }
+
+    @Override
+    @Transactional
+    public void completeImageUpload(final Long taskId, final String key) {
+        if (!key.startsWith(taskId + "/")) {
+            throw new IllegalStateException(
+                    "Image does not belong to the task.");
+        }
+        Task task = getById(taskId);
+        if (task.getImages().contains(key)) {
+            return;
+        }
+        imageService.verifyUpload(key);
+        taskRepository.addImage(taskId, key);
+        cacheInvalidator.taskUpdated(taskId);
+        publishChange(TaskChangedEvent.Type.UPDATED, taskId,
+                taskRepository.findOwnerId(taskId).orElse(null));
+        imageService.createVariants(key);
+    }
+
+    @Override
+    public PresignedUrl createImageDownloadUrl(final Long taskId,
+                                               final String key) {
+        Task task = getById(taskId);
+        boolean found = task.getImages().stream()
+                .anyMatch(image -> image.equals(key)
+                        || Arrays.stream(ImageVariant.values())
+                        .anyMatch(variant -> variant.key(image).equals(key)));
+        if (!found) {
+            throw new ResourceNotFoundException("Image not found.");
+        }
+        return imageService.createDownloadUrl(key);
     }
 
     /**
-     * Получение всех задач у которых время исполнения
-     * меньше переданного аргумента.
-     * @param duration остаток времени до окончания.
-     * @return список задач.
+     * Получение страницы напоминаний о задачах вместе с их авторами.
+     *
+     * @param duration остаток времени до срока выполнения.
+     * @param afterId  id последней задачи предыдущей страницы.
+     * @param limit    размер страницы.
+     * @return лист напоминаний.
      */
     @Override
-    public List<Task> getAllSoonTasks(Duration duration) {
+    public List<TaskReminder> getDueReminders(final Duration duration,
+                                              final long afterId,
+                                              final int limit) {
         LocalDateTime now = LocalDateTime.now();
-        return taskRepository.findAllSoonTasks(Timestamp.valueOf(now),
-                Timestamp.valueOf(now.plus(duration)));
+        return taskRepository.findDueReminders(Timestamp.valueOf(now),
+                Timestamp.valueOf(now.plus(duration)), afterId, limit);
+    }
+
+    /**
+     * Закрепление напоминания за текущим узлом приложения.
+     *
+     * @param reminder напоминание.
+     * @return true - если отметка о напоминании создана этим вызовом.
+     */
+    @Override
+    @Transactional
+    public boolean claimReminder(final TaskReminder reminder) {
+        return taskRepository.claimReminder(reminder.getTaskId(),
+                reminder.getExpirationDate()) > 0;
+    }
+
+    /**
+     * Снятие отметки о напоминании.
+     *
+     * @param reminder напоминание.
+     */
+    @Override
+    @Transactional
+    public void releaseReminder(final TaskReminder reminder) {
+        taskRepository.releaseReminder(reminder.getTaskId(),
+                reminder.getExpirationDate());
     }
 }
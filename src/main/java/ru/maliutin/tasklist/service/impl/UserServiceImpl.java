@@ -1,22 +1,28 @@
 package ru.maliutin.tasklist.service.impl;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.maliutin.tasklist.domain.MailType;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.maliutin.tasklist.domain.exception.ResourceNotFoundException;
+import ru.maliutin.tasklist.domain.mail.RegistrationMail;
 import ru.maliutin.tasklist.domain.user.Role;
 import ru.maliutin.tasklist.domain.user.User;
+import ru.maliutin.tasklist.domain.user.UserIdentity;
+import ru.maliutin.tasklist.domain.user.UserProfile;
 import ru.maliutin.tasklist.repository.UserRepository;
 import ru.maliutin.tasklist.service.MailService;
 import ru.maliutin.tasklist.service.UserService;
+import ru.maliutin.tasklist.service.UserVersionService;
 
-import java.util.Properties;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -47,6 +53,18 @@ public class UserServiceImpl implements UserService {
      * Поле с объектом сервиса отправки писем.
      */
     private final MailService mailService;
+    /**
+     * Поле с сервисом версий пользователей (отзыв токенов).
+     */
+    private final UserVersionService userVersionService;
+    /**
+     * Поле с объектом удаления устаревших записей кеша.
+     */
+    private final CacheInvalidator cacheInvalidator;
+    /**
+     * Поле с индексом владения задачами.
+     */
+    private final TaskOwnershipIndex taskOwnershipIndex;
 
     /**
      * Получение пользователя по идентификатору.
@@ -83,6 +101,56 @@ public class UserServiceImpl implements UserService {
                         new ResourceNotFoundException("User not found."));
     }
 
+    /**
+     * Получение учетных данных и ролей пользователя по логину.
+     * Задачи и прочие данные пользователя не загружаются.
+     *
+     * @param username логин пользователя.
+     * @return учетные данные пользователя.
+     * @throws ResourceNotFoundException пользователь не найден.
+     */
+    @Override
+    @Cacheable(value = "UserService::getIdentityByUsername",
+            key = "#username")
+    public UserIdentity getIdentityByUsername(
+            final String username) throws ResourceNotFoundException {
+        UserIdentity identity = userRepository
+                .findIdentityByUsername(username)
+                .orElseThrow(() ->
+                        new ResourceNotFoundException("User not found."));
+        identity.setRoles(userRepository.findRolesById(identity.getId()));
+        return identity;
+    }
+
+    /**
+     * Получение профиля пользователя по идентификатору.
+     *
+     * @param id идентификатор пользователя.
+     * @return профиль пользователя.
+     * @throws ResourceNotFoundException пользователь не найден.
+     */
+    @Override
+    @Cacheable(value = "UserService::getProfileById", key = "#id")
+    public UserProfile getProfileById(
+            final long id) throws ResourceNotFoundException {
+        return userRepository
+                .findProfileById(id)
+                .orElseThrow(() ->
+                        new ResourceNotFoundException("User not found."));
+    }
+
+    /**
+     * Получение профилей нескольких пользователей одним запросом.
+     *
+     * @param ids идентификаторы пользователей.
+     * @return лист найденных профилей.
+     */
+    @Override
+    public List<UserProfile> getProfilesByIds(final Collection<Long> ids) {
+        return ids.isEmpty()
+                ? List.of() : userRepository.findProfilesByIds(ids);
+    }
+
     /**
      * Обновление пользователя.
      *
@@ -91,16 +159,19 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     @Transactional
-    @Caching(put = {  // Изменяет данные в кеше
-            @CachePut(value = "UserService::getById",
-                    key = "#user.id"),
-            @CachePut(value = "UserService::getByUsername",
-                    key = "#user.username")
-    })
     public User update(final User user) {
+        // Прежний логин нужен для удаления записей кеша по логину
+        String oldUsername = userRepository.findProfileById(user.getId())
+                .map(UserProfile::getUsername)
+                .orElse(null);
         // Кодируем сырой пароль пользователя при сохранении в БД
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         userRepository.save(user);
+        // Ранее выданные токены пользователя становятся недействительными
+        revokeTokens(user.getId());
+        cacheInvalidator.userUpdated(user.getId(),
+                Arrays.asList(oldUsername, user.getUsername()),
+                userRepository.findTaskIdsByUserId(user.getId()));
         return user;
     }
 
@@ -135,7 +206,7 @@ public class UserServiceImpl implements UserService {
         Set<Role> roles = Set.of(Role.ROLE_USER);
         user.setRoles(roles);
         userRepository.save(user);
-        mailService.sendEmail(user, MailType.REGISTRATION, new Properties());
+        mailService.sendEmail(user, new RegistrationMail(user.getName()));
         return user;
     }
 
@@ -147,10 +218,22 @@ public class UserServiceImpl implements UserService {
      * @return true - если принадлежит, иначе false.
      */
     @Override
-    @Cacheable(value = "UserService::isTaskOwner",
-            key = "#userId + '.' + #taskId") // Помещает данные в кеш
     public boolean isTaskOwner(final Long userId, final long taskId) {
-        return userRepository.isTaskOwner(userId, taskId);
+        return taskOwnershipIndex.owns(userId, taskId);
+    }
+
+    /**
+     * Проверка, принадлежат ли пользователю все задачи.
+     *
+     * @param userId  идентификатор пользователя.
+     * @param taskIds идентификаторы задач.
+     * @return true - если принадлежат все задачи, иначе false.
+     */
+    @Override
+    public boolean isTasksOwner(final Long userId,
+                                final Collection<Long> taskIds) {
+        return taskIds.isEmpty()
+                || taskOwnershipIndex.ownsAll(userId, taskIds);
     }
 
     /**
@@ -159,10 +242,43 @@ public class UserServiceImpl implements UserService {
      * @param id идентификатор пользователя.
      */
     @Override
-    @CacheEvict(value = "UserService::getById",
-            key = "#id") // Удаляет данные из кеша
+    @Transactional
     public void delete(final long id) {
+        // Логин и задачи запоминаются до удаления, связи удаляются каскадно
+        String username = userRepository.findProfileById(id)
+                .map(UserProfile::getUsername)
+                .orElse(null);
+        List<Long> taskIds = userRepository.findTaskIdsByUserId(id);
         userRepository.deleteById(id);
+        revokeTokens(id);
+        cacheInvalidator.userDeleted(id,
+                Collections.singletonList(username), taskIds);
+    }
+
+    /**
+     * Служебный метод отзыва выданных токенов пользователя.
+     * Версия пользователя увеличивается после фиксации транзакции:
+     * до фиксации другой запрос прочитал бы из БД прежние данные
+     * с уже новой версией, а при откате пользователь не изменился
+     * и его токены должны остаться действительными.
+     * Вне транзакции версия увеличивается сразу.
+     *
+     * @param userId идентификатор пользователя.
+     */
+    private void revokeTokens(final long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userVersionService.increment(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(final int status) {
+                        if (status == STATUS_COMMITTED) {
+                            userVersionService.increment(userId);
+                        }
+                    }
+                });
     }
 
     /**
@@ -0,0 +1,114 @@
+package ru.maliutin.tasklist.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import ru.maliutin.tasklist.service.UserVersionService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Сервис версий пользователей.
+ * Версии хранятся в Redis (хеш users:versions) и дублируются
+ * в памяти узла. Redis читается только при первом обращении
+ * к пользователю, дальнейшие изменения версий приходят
+ * на все узлы через канал Redis pub/sub.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserVersionServiceImpl
+        implements UserVersionService, MessageListener {
+    /**
+     * Ключ хеша с версиями пользователей в Redis.
+     */
+    private static final String VERSIONS_KEY = "users:versions";
+    /**
+     * Канал оповещения узлов об изменении версии пользователя.
+     */
+    private static final String CHANNEL = "users:versions:changed";
+
+    /**
+     * Поле с клиентом Redis.
+     */
+    private final StringRedisTemplate redisTemplate;
+    /**
+     * Поле с контейнером подписок на каналы Redis.
+     */
+    private final RedisMessageListenerContainer listenerContainer;
+    /**
+     * Известные узлу версии пользователей.
+     */
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Подписка на канал изменения версий.
+     */
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Получение текущей версии пользователя.
+     *
+     * @param userId идентификатор пользователя.
+     * @return текущая версия пользователя (0 - версия не менялась).
+     */
+    @Override
+    public long getVersion(final long userId) {
+        return versions.computeIfAbsent(userId, this::loadVersion);
+    }
+
+    /**
+     * Увеличение версии пользователя с оповещением остальных узлов.
+     *
+     * @param userId идентификатор пользователя.
+     * @return новая версия пользователя.
+     */
+    @Override
+    public long increment(final long userId) {
+        Long version = redisTemplate.opsForHash()
+                .increment(VERSIONS_KEY, String.valueOf(userId), 1);
+        versions.merge(userId, version, Math::max);
+        redisTemplate.convertAndSend(CHANNEL, userId + ":" + version);
+        return version;
+    }
+
+    /**
+     * Обработка сообщения об изменении версии пользователя
+     * (формат сообщения - "userId:version").
+     *
+     * @param message сообщение из канала.
+     * @param pattern шаблон канала.
+     */
+    @Override
+    public void onMessage(final Message message, final byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator < 0) {
+            return;
+        }
+        long userId = Long.parseLong(body.substring(0, separator));
+        long version = Long.parseLong(body.substring(separator + 1));
+        versions.merge(userId, version, Math::max);
+    }
+
+    /**
+     * Служебный метод чтения версии пользователя из Redis.
+     *
+     * @param userId идентификатор пользователя.
+     * @return версия пользователя.
+     */
+    private Long loadVersion(final Long userId) {
+        Object version = redisTemplate.opsForHash()
+                .get(VERSIONS_KEY, String.valueOf(userId));
+        return version == null ? 0L : Long.parseLong(version.toString());
+    }
+}
@@ -0,0 +1,27 @@
+package ru.maliutin.tasklist.service.impl;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Фабрика потоков фоновых задач (отправка писем и напоминаний,
+ * создание копий изображений).
+ * Все пулы сервисов получают потоки здесь, поэтому переход на
+ * виртуальные потоки после перевода сборки на Java 21
+ * (threads.virtual.enabled) затронет только этот класс.
+ */
+@Component
+public class WorkerThreads {
+
+    /**
+     * Получение фабрики потоков.
+     *
+     * @param prefix префикс имен потоков.
+     * @return фабрика потоков платформы.
+     */
+    public ThreadFactory factory(final String prefix) {
+        return new CustomizableThreadFactory(prefix);
+    }
+}
@@ -0,0 +1,109 @@
+package ru.maliutin.tasklist.service.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Класс хранящий зависимости для кеширования.
+ */
+@Component // Аннотация Spring - отмечающая класс, как компонент приложения.
+@Data  // Аннотация lombok - добавляющая конструктор, геттеры, сеттеры и т.д.
+@ConfigurationProperties(prefix = "cache")
+// Аннотация указывающая откуда брать данные для полей класса:
+// application.yaml -> cache
+// (названия полей совпадают с ключами в файле)
+public class CacheProperties {
+    /**
+     * Время жизни записи в локальном кеше узла.
+     * Ограничивает время, в течение которого узел может отдавать
+     * устаревшее значение, если сообщение об удалении записи потеряно.
+     */
+    private Duration localTtl = Duration.ofSeconds(60);
+    /**
+     * Максимальное количество записей в локальном кеше узла
+     * для одного кеша.
+     */
+    private long localMaxEntries = 10_000;
+    /**
+     * Время жизни записи в Redis для кешей без собственных настроек.
+     * Ограничивает рост памяти Redis, нулевое значение - без ограничения.
+     */
+    private Duration ttl = Duration.ofHours(1);
+    /**
+     * Префикс ключей в Redis для кешей без собственных настроек.
+     * Ключ записи: префикс + название кеша + "::" + ключ.
+     */
+    private String keyPrefix = "";
+    /**
+     * Формат значений в Redis для кешей без собственных настроек.
+     */
+    private Serializer serializer = Serializer.COMPACT;
+    /**
+     * Настройки отдельных кешей по названию кеша.
+     */
+    private Map<String, Region> regions = new HashMap<>();
+
+    /**
+     * Формат значений кеша в Redis.
+     */
+    public enum Serializer {
+        /**
+         * Стандартная сериализация Java.
+         */
+        JDK,
+        /**
+         * Компактный двоичный формат (CompactCacheSerializer).
+         */
+        COMPACT
+    }
+
+    /**
+     * Получение настроек кеша с подставленными значениями по умолчанию
+     * для незаданных параметров.
+     *
+     * @param cacheName название кеша.
+     * @return настройки кеша, все параметры заданы.
+     */
+    public Region resolve(final String cacheName) {
+        Region region = regions.getOrDefault(cacheName, new Region());
+        Region resolved = new Region();
+        resolved.setTtl(region.getTtl() == null ? ttl : region.getTtl());
+        resolved.setMaxEntries(region.getMaxEntries() == null
+                ? localMaxEntries : region.getMaxEntries());
+        resolved.setKeyPrefix(region.getKeyPrefix() == null
+                ? keyPrefix : region.getKeyPrefix());
+        resolved.setSerializer(region.getSerializer() == null
+                ? serializer : region.getSerializer());
+        return resolved;
+    }
+
+    /**
+     * Настройки отдельного кеша.
+     * Незаданные (null) параметры берутся из общих настроек.
+     */
+    @Data
+    public static class Region {
+        /**
+         * Время жизни записи в Redis.
+         */
+        private Duration ttl;
+        /**
+         * Максимальное количество записей в локальном кеше узла.
+         * Размер кеша в Redis ограничивается временем жизни записей.
+         */
+        private Long maxEntries;
+        /**
+         * Префикс ключей в Redis.
+         */
+        private String keyPrefix;
+        /**
+         * Формат значений в Redis.
+         */
+        private Serializer serializer;
+    }
+}
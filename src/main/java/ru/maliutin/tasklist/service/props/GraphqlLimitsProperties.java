@@ -0,0 +1,72 @@
+package ru.maliutin.tasklist.service.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Класс хранящий зависимости для ограничения запросов GraphQL.
+ */
+@Component // Аннотация Spring - отмечающая класс, как компонент приложения.
+@Data  // Аннотация lombok - добавляющая конструктор, геттеры, сеттеры и т.д.
+@ConfigurationProperties(prefix = "graphql.limits")
+// Аннотация указывающая откуда брать данные для полей класса:
+// application.yaml -> graphql.limits
+// (названия полей совпадают с ключами в файле)
+public class GraphqlLimitsProperties {
+    /**
+     * Максимальная глубина вложенности полей запроса.
+     */
+    private int maxDepth = 10;
+    /**
+     * Максимальная стоимость одного запроса.
+     */
+    private int maxCost = 1000;
+    /**
+     * Стоимость поля без собственной настройки.
+     */
+    private int defaultFieldCost = 1;
+    /**
+     * Предполагаемое количество элементов списка, если размер
+     * не задан аргументом limit. Стоимость вложенных полей списка
+     * умножается на количество элементов.
+     */
+    private int defaultListSize = 20;
+    /**
+     * Предполагаемое количество элементов списков без ограничения
+     * размера: "Тип.поле" - количество элементов.
+     */
+    private Map<String, Integer> listSizes = new HashMap<>();
+    /**
+     * Стоимость отдельных полей: "Тип.поле" - стоимость.
+     */
+    private Map<String, Integer> fieldCosts = new HashMap<>();
+    /**
+     * Бюджет стоимости запросов пользователя.
+     */
+    private Budget budget = new Budget();
+
+    /**
+     * Бюджет стоимости запросов одного пользователя: запас стоимости
+     * расходуется запросами и восстанавливается равномерно.
+     */
+    @Data
+    public static class Budget {
+        /**
+         * Максимальный запас стоимости пользователя.
+         */
+        private long capacity = 20_000;
+        /**
+         * Время полного восстановления запаса.
+         */
+        private Duration refillPeriod = Duration.ofMinutes(1);
+        /**
+         * Максимальное количество отслеживаемых пользователей на узле.
+         */
+        private long maxUsers = 100_000;
+    }
+}
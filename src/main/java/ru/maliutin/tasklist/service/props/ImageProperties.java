@@ -0,0 +1,36 @@
+package ru.maliutin.tasklist.service.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Класс хранящий зависимости для обработки изображений задач.
+ */
+@Component // Аннотация Spring - отмечающая класс, как компонент приложения.
+@Data  // Аннотация lombok - добавляющая конструктор, геттеры, сеттеры и т.д.
+@ConfigurationProperties(prefix = "image")
+// Аннотация указывающая откуда брать данные для полей класса:
+// application.yaml -> image
+// (названия полей совпадают с ключами в файле)
+public class ImageProperties {
+    /**
+     * Количество потоков создания уменьшенных копий изображений.
+     */
+    private int variantWorkers = 2;
+    /**
+     * Размер очереди изображений ожидающих создания копий.
+     */
+    private int variantQueueCapacity = 100;
+    /**
+     * Максимальный размер изображения,
+     * загружаемого по подписанной ссылке.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(50);
+    /**
+     * Максимальное количество пикселей изображения, для которого
+     * создаются уменьшенные копии (проверяется до декодирования).
+     */
+    private long maxPixels = 50_000_000;
+}
@@ -28,4 +28,14 @@ public class JwtProperties {
      * Время жизни refresh токена (время жизни большое).
      */
     private Long refresh;
+    /**
+     * Максимальное количество разобранных токенов
+     * в кеше (0 - кеш отключен).
+     */
+    private int cacheSize = 10_000;
+    /**
+     * Режим аутентификации без обращения к хранилищу пользователей.
+     * Пользователь Spring Security создается из данных access токена.
+     */
+    private boolean stateless;
 }
@@ -0,0 +1,45 @@
+package ru.maliutin.tasklist.service.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Класс хранящий зависимости для очереди отправки писем.
+ */
+@Component // Аннотация Spring - отмечающая класс, как компонент приложения.
+@Data  // Аннотация lombok - добавляющая конструктор, геттеры, сеттеры и т.д.
+@ConfigurationProperties(prefix = "mail.dispatch")
+// Аннотация указывающая откуда брать данные для полей класса:
+// application.yaml -> mail -> dispatch
+// (названия полей совпадают с ключами в файле)
+public class MailDispatchProperties {
+    /**
+     * Количество потоков отправки писем.
+     */
+    private int workers = 2;
+    /**
+     * Размер очереди писем ожидающих отправки.
+     */
+    private int queueCapacity = 10_000;
+    /**
+     * Максимальное количество писем отправляемых
+     * через одно соединение с почтовым сервером.
+     */
+    private int batchSize = 50;
+    /**
+     * Максимальное количество попыток отправки письма.
+     */
+    private int maxAttempts = 5;
+    /**
+     * Задержка перед первой повторной попыткой,
+     * каждая следующая задержка увеличивается вдвое.
+     */
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    /**
+     * Максимальная задержка перед повторной попыткой.
+     */
+    private Duration maxBackoff = Duration.ofMinutes(5);
+}
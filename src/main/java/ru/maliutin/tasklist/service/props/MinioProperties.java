@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 /**
  * Класс хранящий зависимости для minio.
  */
@@ -30,6 +32,14 @@ public class MinioProperties {
      * Ключ для подключения к хранилищу (админа).
      */
     private String secretKey;
-
+    /**
+     * Размер части при загрузке больших файлов по частям в байтах
+     * (не меньше 5 Мб - минимального размера части в S3).
+     */
+    private long partSize = 10L * 1024 * 1024;
+    /**
+     * Время действия подписанных ссылок на изображения.
+     */
+    private Duration presignedUrlExpiry = Duration.ofMinutes(15);
 
 }
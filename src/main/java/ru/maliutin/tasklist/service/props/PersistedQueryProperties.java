@@ -0,0 +1,30 @@
+package ru.maliutin.tasklist.service.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Класс хранящий зависимости для сохраненных запросов GraphQL.
+ */
+@Component // Аннотация Spring - отмечающая класс, как компонент приложения.
+@Data  // Аннотация lombok - добавляющая конструктор, геттеры, сеттеры и т.д.
+@ConfigurationProperties(prefix = "graphql.persisted-queries")
+// Аннотация указывающая откуда брать данные для полей класса:
+// application.yaml -> graphql.persisted-queries
+// (названия полей совпадают с ключами в файле)
+public class PersistedQueryProperties {
+    /**
+     * Максимальное количество разобранных и проверенных запросов в кеше.
+     */
+    private long cacheSize = 1000;
+    /**
+     * Расположение файлов зарегистрированных запросов (*.graphql),
+     * загружаются при запуске приложения.
+     */
+    private String registry = "classpath*:graphql/persisted/*.graphql";
+    /**
+     * Выполнение только зарегистрированных запросов.
+     */
+    private boolean registeredOnly = false;
+}
@@ -0,0 +1,36 @@
+package ru.maliutin.tasklist.service.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Класс хранящий зависимости для напоминаний о задачах.
+ */
+@Component // Аннотация Spring - отмечающая класс, как компонент приложения.
+@Data  // Аннотация lombok - добавляющая конструктор, геттеры, сеттеры и т.д.
+@ConfigurationProperties(prefix = "reminder")
+// Аннотация указывающая откуда брать данные для полей класса:
+// application.yaml -> reminder
+// (названия полей совпадают с ключами в файле)
+public class ReminderProperties {
+    /**
+     * За какое время до срока выполнения напоминать о задаче.
+     */
+    private Duration window = Duration.ofHours(1);
+    /**
+     * Количество задач выбираемых из БД одним запросом.
+     */
+    private int pageSize = 500;
+    /**
+     * Количество потоков отправки напоминаний.
+     */
+    private int senders = 4;
+    /**
+     * Размер очереди напоминаний ожидающих отправки.
+     * При заполнении очереди напоминания отправляет поток планировщика.
+     */
+    private int queueCapacity = 1000;
+}
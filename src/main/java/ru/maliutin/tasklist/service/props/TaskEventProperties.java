@@ -0,0 +1,27 @@
+package ru.maliutin.tasklist.service.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Класс хранящий зависимости для подписок на изменения задач.
+ */
+@Component // Аннотация Spring - отмечающая класс, как компонент приложения.
+@Data  // Аннотация lombok - добавляющая конструктор, геттеры, сеттеры и т.д.
+@ConfigurationProperties(prefix = "task-events")
+// Аннотация указывающая откуда брать данные для полей класса:
+// application.yaml -> task-events
+// (названия полей совпадают с ключами в файле)
+public class TaskEventProperties {
+    /**
+     * Количество событий, ожидающих отправки одному подписчику.
+     * При переполнении подписка завершается ошибкой, клиент
+     * подписывается заново и перечитывает задачи.
+     */
+    private int bufferSize = 256;
+    /**
+     * Максимальное количество подписок одного пользователя на узле.
+     */
+    private int maxSubscribersPerUser = 16;
+}
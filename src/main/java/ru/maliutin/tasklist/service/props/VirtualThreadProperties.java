@@ -0,0 +1,29 @@
+package ru.maliutin.tasklist.service.props;
+
+import jakarta.validation.constraints.AssertFalse;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Класс хранящий зависимости для режима виртуальных потоков.
+ */
+@Component // Аннотация Spring - отмечающая класс, как компонент приложения.
+@Data  // Аннотация lombok - добавляющая конструктор, геттеры, сеттеры и т.д.
+@Validated // Аннотация Spring - проверка значений полей при запуске.
+@ConfigurationProperties(prefix = "threads.virtual")
+// Аннотация указывающая откуда брать данные для полей класса:
+// application.yaml -> threads.virtual
+// (названия полей совпадают с ключами в файле)
+public class VirtualThreadProperties {
+    /**
+     * Обработка запросов, планировщик и фоновые задачи
+     * в виртуальных потоках. Требует сборки под Java 21,
+     * пока приложение собирается под Java 17 - включение
+     * останавливает запуск приложения с ошибкой.
+     */
+    @AssertFalse(message = "Virtual threads require building for Java 21;"
+            + " the application targets Java 17 (pom.xml java.version)")
+    private boolean enabled = false;
+}
@@ -0,0 +1,322 @@
+package ru.maliutin.tasklist.web.controller;
+
+import graphql.schema.DataFetchingFieldSelectionSet;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.dataloader.DataLoader;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.maliutin.tasklist.domain.exception.ResourceNotFoundException;
+import ru.maliutin.tasklist.domain.task.Task;
+import ru.maliutin.tasklist.domain.task.TaskChangedEvent;
+import ru.maliutin.tasklist.domain.user.UserProfile;
+import ru.maliutin.tasklist.service.TaskService;
+import ru.maliutin.tasklist.service.UserService;
+import ru.maliutin.tasklist.service.impl.TaskEventBus;
+import ru.maliutin.tasklist.web.dto.task.ImageVariantsDto;
+import ru.maliutin.tasklist.web.dto.task.TaskDto;
+import ru.maliutin.tasklist.web.dto.user.UserDto;
+import ru.maliutin.tasklist.web.mappers.TaskMapper;
+import ru.maliutin.tasklist.web.mappers.UserMapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Класс контроллера GraphQL с пакетной загрузкой полей.
+ * Задачи, пользователи, изображения и авторы задач, запрошенные
+ * в одном запросе GraphQL, собираются загрузчиками (DataLoader)
+ * и выбираются из БД одним запросом IN на каждый вид данных,
+ * а не отдельным запросом на каждый объект.
+ */
+@Controller
+@RequiredArgsConstructor
+public class GraphqlController {
+    /**
+     * Имя загрузчика изображений задач
+     * (совпадает с именем параметра DataLoader в методах полей).
+     */
+    private static final String TASK_IMAGES = "taskImages";
+
+    /**
+     * Поле интерфейса сервиса объектов задач (Task).
+     */
+    private final TaskService taskService;
+    /**
+     * Поле интерфейса сервиса объектов пользователя (User).
+     */
+    private final UserService userService;
+    /**
+     * Поле маппера объектов задач (Task).
+     */
+    private final TaskMapper taskMapper;
+    /**
+     * Поле маппера объектов пользователя (User).
+     */
+    private final UserMapper userMapper;
+    /**
+     * Поле реестра загрузчиков, создаваемых на каждый запрос GraphQL.
+     */
+    private final BatchLoaderRegistry batchLoaderRegistry;
+    /**
+     * Поле с объектом доставки событий изменения задач.
+     */
+    private final TaskEventBus taskEventBus;
+
+    /**
+     * Регистрация загрузчиков задач, пользователей и изображений.
+     */
+    @PostConstruct
+    public void registerLoaders() {
+        batchLoaderRegistry.forTypePair(Long.class, TaskDto.class)
+                .registerMappedBatchLoader((ids, environment) ->
+                        Mono.fromCallable(() -> loadTasks(ids,
+                                environment.getKeyContexts())));
+        batchLoaderRegistry.forTypePair(Long.class, UserDto.class)
+                .registerMappedBatchLoader((ids, environment) ->
+                        Mono.fromCallable(() -> loadUsers(ids)));
+        batchLoaderRegistry.<Long, List<String>>forName(TASK_IMAGES)
+                .registerMappedBatchLoader((ids, environment) ->
+                        Mono.fromCallable(() -> taskService.getImages(ids)));
+    }
+
+    /**
+     * Получение задачи по id.
+     * Задачи всех полей taskById запроса выбираются одним запросом,
+     * изображения запрошенных с ними задач - вторым запросом
+     * в том же пакете.
+     *
+     * @param id           идентификатор задачи.
+     * @param selectionSet запрошенные поля задачи.
+     * @param taskLoader   загрузчик задач.
+     * @return задачу в виде объекта передачи данных.
+     */
+    @QueryMapping(name = "taskById")
+    @PreAuthorize("@customSecurityExpression.canAccessTask(#id)")
+    public CompletableFuture<TaskDto> getTaskById(
+            @Argument final Long id,
+            final DataFetchingFieldSelectionSet selectionSet,
+            final DataLoader<Long, TaskDto> taskLoader) {
+        boolean withImages = selectionSet.containsAnyOf(
+                "images", "imageVariants");
+        return taskLoader.load(id, withImages).thenApply(task -> {
+            if (task == null) {
+                throw new ResourceNotFoundException("Task not found.");
+            }
+            return task;
+        });
+    }
+
+    /**
+     * Получение пользователя по id.
+     * Пользователи всех полей userById запроса выбираются одним запросом.
+     *
+     * @param id         идентификатор пользователя.
+     * @param userLoader загрузчик пользователей.
+     * @return найденный пользователь.
+     */
+    @QueryMapping(name = "userById")
+    @PreAuthorize("@customSecurityExpression.canAccessUser(#id)")
+    public CompletableFuture<UserDto> getUserById(
+            @Argument final Long id,
+            final DataLoader<Long, UserDto> userLoader) {
+        return userLoader.load(id).thenApply(user -> {
+            if (user == null) {
+                throw new ResourceNotFoundException("User not found.");
+            }
+            return user;
+        });
+    }
+
+    /**
+     * Подписка на изменения задач пользователя
+     * (вместо периодического запроса tasksByUserId).
+     * Соединение по WebSocket аутентифицируется токеном из сообщения
+     * connection_init (JwtWebSocketInterceptor).
+     *
+     * @param id идентификатор пользователя.
+     * @return поток изменений задач.
+     */
+    @SubscriptionMapping(name = "taskChangedByUserId")
+    @PreAuthorize("@customSecurityExpression.canAccessUser(#id)")
+    public Flux<TaskChangedEvent> taskChanged(@Argument final Long id) {
+        return taskEventBus.subscribe(id);
+    }
+
+    /**
+     * Текущее состояние измененной задачи, запрашивается только
+     * если клиент выбрал поле task. Для удаленной задачи - null.
+     *
+     * @param event событие изменения задачи.
+     * @return задача или null.
+     */
+    @SchemaMapping(typeName = "TaskChange", field = "task")
+    public TaskDto changedTask(final TaskChangedEvent event) {
+        if (event.getType() == TaskChangedEvent.Type.DELETED) {
+            return null;
+        }
+        try {
+            return taskMapper.toDto(taskService.getById(event.getTaskId()));
+        } catch (ResourceNotFoundException e) {
+            // Задача удалена после события.
+            return null;
+        }
+    }
+
+    /**
+     * Задачи пользователей: связи и задачи всех пользователей
+     * ответа выбираются двумя запросами.
+     *
+     * @param users пользователи.
+     * @return задачи по пользователю.
+     */
+    @BatchMapping(typeName = "User", field = "tasks")
+    public Map<UserDto, List<TaskDto>> tasks(final List<UserDto> users) {
+        Map<Long, List<Long>> taskIds = taskService.getIdsByUserIds(
+                users.stream().map(UserDto::getId).collect(Collectors.toSet()));
+        Map<Long, TaskDto> tasks = loadTasks(taskIds.values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toSet()));
+        Map<UserDto, List<TaskDto>> result = new LinkedHashMap<>();
+        for (UserDto user : users) {
+            List<TaskDto> userTasks = new ArrayList<>();
+            for (Long taskId : taskIds.getOrDefault(user.getId(), List.of())) {
+                TaskDto task = tasks.get(taskId);
+                if (task != null) {
+                    userTasks.add(task);
+                }
+            }
+            result.put(user, userTasks);
+        }
+        return result;
+    }
+
+    /**
+     * Авторы задач: владельцы и их профили выбираются двумя запросами
+     * для всех задач ответа.
+     *
+     * @param tasks задачи.
+     * @return автор по задаче.
+     */
+    @BatchMapping(typeName = "Task", field = "author")
+    public Map<TaskDto, UserDto> author(final List<TaskDto> tasks) {
+        Map<Long, Long> ownerIds = taskService.getOwnerIds(
+                tasks.stream().map(TaskDto::getId).collect(Collectors.toSet()));
+        Map<Long, UserDto> users = loadUsers(new HashSet<>(ownerIds.values()));
+        Map<TaskDto, UserDto> result = new HashMap<>();
+        for (TaskDto task : tasks) {
+            UserDto user = users.get(ownerIds.get(task.getId()));
+            if (user != null) {
+                result.put(task, user);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Имена изображений задачи. Если задача получена без изображений
+     * (например, в списке задач пользователя), они выбираются
+     * загрузчиком пачкой для всех таких задач ответа.
+     *
+     * @param task       задача.
+     * @param taskImages загрузчик изображений задач.
+     * @return имена изображений.
+     */
+    @SchemaMapping(typeName = "Task", field = "images")
+    public CompletableFuture<List<String>> images(
+            final TaskDto task,
+            final DataLoader<Long, List<String>> taskImages) {
+        if (task.getImages() != null) {
+            return CompletableFuture.completedFuture(task.getImages());
+        }
+        return taskImages.load(task.getId())
+                .thenApply(images -> images == null ? List.of() : images);
+    }
+
+    /**
+     * Изображения задачи вместе с именами уменьшенных копий.
+     *
+     * @param task       задача.
+     * @param taskImages загрузчик изображений задач.
+     * @return изображения с копиями.
+     */
+    @SchemaMapping(typeName = "Task", field = "imageVariants")
+    public CompletableFuture<List<ImageVariantsDto>> imageVariants(
+            final TaskDto task,
+            final DataLoader<Long, List<String>> taskImages) {
+        return images(task, taskImages).thenApply(taskMapper::toImageVariants);
+    }
+
+    /**
+     * Служебный метод выборки задач без изображений одним запросом.
+     *
+     * @param ids идентификаторы задач.
+     * @return задачи по идентификатору.
+     */
+    private Map<Long, TaskDto> loadTasks(final Collection<Long> ids) {
+        return loadTasks(ids, Map.of());
+    }
+
+    /**
+     * Служебный метод выборки задач одним запросом и изображений
+     * задач, для которых они запрошены, вторым запросом.
+     * Изображения загружаются вместе с задачами, а не загрузчиком
+     * taskImages: задачи пачки становятся готовы во время рассылки
+     * загрузчиков, и часть полей images попала бы в отдельную пачку.
+     *
+     * @param ids      идентификаторы задач.
+     * @param contexts признак загрузки изображений по идентификатору.
+     * @return задачи по идентификатору.
+     */
+    private Map<Long, TaskDto> loadTasks(final Collection<Long> ids,
+                                         final Map<Object, Object> contexts) {
+        List<Task> tasks = taskService.getAllByIds(ids);
+        Map<Long, TaskDto> result = tasks.stream()
+                .map(taskMapper::toDtoWithoutImages)
+                .collect(Collectors.toMap(TaskDto::getId,
+                        Function.identity()));
+        Set<Long> withImages = result.keySet().stream()
+                .filter(id -> Boolean.TRUE.equals(contexts.get(id)))
+                .collect(Collectors.toSet());
+        if (!withImages.isEmpty()) {
+            Map<Long, List<String>> images =
+                    taskService.getImages(withImages);
+            for (Long id : withImages) {
+                result.get(id).setImages(
+                        images.getOrDefault(id, List.of()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Служебный метод выборки профилей пользователей одним запросом.
+     *
+     * @param ids идентификаторы пользователей.
+     * @return пользователи по идентификатору.
+     */
+    private Map<Long, UserDto> loadUsers(final Collection<Long> ids) {
+        List<UserProfile> profiles = userService.getProfilesByIds(ids);
+        return profiles.stream()
+                .map(userMapper::toDto)
+                .collect(Collectors.toMap(UserDto::getId,
+                        Function.identity()));
+    }
+}
@@ -5,7 +5,6 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
-import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 
@@ -18,15 +17,23 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestParam;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import ru.maliutin.tasklist.domain.task.Task;
 import ru.maliutin.tasklist.domain.task.TaskImage;
 import ru.maliutin.tasklist.service.TaskService;
+import ru.maliutin.tasklist.web.dto.task.PresignedUrlDto;
 import ru.maliutin.tasklist.web.dto.task.TaskDto;
 import ru.maliutin.tasklist.web.dto.task.TaskImageDto;
 import ru.maliutin.tasklist.web.dto.validation.OnUpdate;
+import ru.maliutin.tasklist.web.mappers.PresignedUrlMapper;
 import ru.maliutin.tasklist.web.mappers.TaskImageMapper;
 import ru.maliutin.tasklist.web.mappers.TaskMapper;
 
+import java.util.List;
+
 /**
  * Класс контроллера обрабатывающий запросы к задачам (Task).
  */
@@ -53,6 +60,10 @@ public class TaskController {
     private final TaskMapper taskMapper;
 
     private final TaskImageMapper taskImageMapper;
+    /**
+     * Поле маппера подписанных ссылок на изображения.
+     */
+    private final PresignedUrlMapper presignedUrlMapper;
 
     /**
      * Получение задачи по id.
@@ -61,12 +72,10 @@ public class TaskController {
      * @return задачу в виде объекта передачи данных.
      */
     @GetMapping("/{id}")
-    // Аннотация graphql - TODO добавить описание, так же для @Argument
-    @QueryMapping(name = "taskById")
     // Аннотация Swagger добавляющая описание метода в документацию.
     @Operation(summary = "Get TaskDTO by id")
-    @PreAuthorize("@customSecurityExpression.canAccessUser(#id)")
-    public TaskDto getById(@PathVariable @Argument final Long id) {
+    @PreAuthorize("@customSecurityExpression.canAccessTask(#id)")
+    public TaskDto getById(@PathVariable final Long id) {
         return taskMapper.toDto(taskService.getById(id));
     }
 
@@ -80,7 +89,7 @@ public class TaskController {
     @MutationMapping(name = "deleteTask")
     // Аннотация Swagger добавляющая описание метода в документацию.
     @Operation(summary = "Delete task by id")
-    @PreAuthorize("@customSecurityExpression.canAccessUser(#id)")
+    @PreAuthorize("@customSecurityExpression.canAccessTask(#id)")
     public void deleteById(@PathVariable @Argument final Long id) {
         taskService.delete(id);
     }
@@ -96,7 +105,7 @@ public class TaskController {
     @MutationMapping(name = "updateTask")
     // Аннотация Swagger добавляющая описание метода в документацию.
     @Operation(summary = "Update task")
-    @PreAuthorize("@customSecurityExpression.canAccessUser(#taskDto.id)")
+    @PreAuthorize("@customSecurityExpression.canAccessTask(#taskDto.id)")
     public TaskDto update(
             @Validated(OnUpdate.class)
             @RequestBody @Argument final TaskDto taskDto) {
@@ -105,6 +114,45 @@ public class TaskController {
         return taskMapper.toDto(updateTusk);
     }
 
+    /**
+     * Обновление нескольких задач одним запросом.
+     * Задачи обновляются в одной транзакции: если одна из задач
+     * не найдена, не обновляется ни одна задача.
+     *
+     * @param taskDtos задачи для обновления.
+     * @return обновленные задачи.
+     */
+    @PutMapping("/batch")
+    @MutationMapping(name = "updateTasks")
+    // Аннотация Swagger добавляющая описание метода в документацию.
+    @Operation(summary = "Update tasks in batch")
+    @PreAuthorize("@customSecurityExpression.canAccessTasks(#taskDtos.![id])")
+    // Группа проверки полей задач и размера списка.
+    @Validated(OnUpdate.class)
+    public List<TaskDto> updateAll(
+            @RequestBody @Argument(name = "dtos")
+            @Size(max = TaskService.MAX_BULK_SIZE, groups = OnUpdate.class)
+            final List<@Valid TaskDto> taskDtos) {
+        List<Task> tasks = taskMapper.toEntity(taskDtos);
+        return taskMapper.toDto(taskService.updateAll(tasks));
+    }
+
+    /**
+     * Удаление нескольких задач одним запросом.
+     *
+     * @param ids идентификаторы задач.
+     */
+    @DeleteMapping("/batch")
+    @MutationMapping(name = "deleteTasks")
+    // Аннотация Swagger добавляющая описание метода в документацию.
+    @Operation(summary = "Delete tasks in batch")
+    @PreAuthorize("@customSecurityExpression.canAccessTasks(#ids)")
+    public void deleteAll(
+            @RequestBody @Argument
+            @Size(max = TaskService.MAX_BULK_SIZE) final List<Long> ids) {
+        taskService.deleteAll(ids);
+    }
+
     @PostMapping("/{id}/image")
     @Operation(summary = "Upload image task")
     @PreAuthorize("@customSecurityExpression.canAccessTask(#id)")
@@ -114,4 +162,56 @@ public class TaskController {
         TaskImage image = taskImageMapper.toEntity(imageDto);
         taskService.uploadImage(id, image);
     }
+
+    /**
+     * Получение подписанной ссылки для загрузки изображения
+     * напрямую в хранилище (HTTP PUT по ссылке).
+     * После загрузки необходимо вызвать завершение загрузки.
+     *
+     * @param id       идентификатор задачи.
+     * @param fileName имя загружаемого файла.
+     * @return подписанная ссылка и имя изображения в хранилище.
+     */
+    @PostMapping("/{id}/image/upload-url")
+    @Operation(summary = "Get presigned url for image upload")
+    @PreAuthorize("@customSecurityExpression.canAccessTask(#id)")
+    public PresignedUrlDto createImageUploadUrl(
+            @PathVariable("id") final Long id,
+            @RequestParam @NotBlank final String fileName) {
+        return presignedUrlMapper.toDto(
+                taskService.createImageUploadUrl(id, fileName));
+    }
+
+    /**
+     * Завершение загрузки изображения по подписанной ссылке.
+     *
+     * @param id  идентификатор задачи.
+     * @param key имя изображения из ссылки на загрузку.
+     */
+    @PostMapping("/{id}/image/complete")
+    @Operation(summary = "Complete presigned image upload")
+    @PreAuthorize("@customSecurityExpression.canAccessTask(#id)")
+    public void completeImageUpload(
+            @PathVariable("id") final Long id,
+            @RequestParam @NotBlank final String key) {
+        taskService.completeImageUpload(id, key);
+    }
+
+    /**
+     * Получение подписанной ссылки для скачивания изображения задачи
+     * (оригинала или уменьшенной копии) напрямую из хранилища.
+     *
+     * @param id  идентификатор задачи.
+     * @param key имя изображения в хранилище.
+     * @return подписанная ссылка.
+     */
+    @GetMapping("/{id}/image/download-url")
+    @Operation(summary = "Get presigned url for image download")
+    @PreAuthorize("@customSecurityExpression.canAccessTask(#id)")
+    public PresignedUrlDto createImageDownloadUrl(
+            @PathVariable("id") final Long id,
+            @RequestParam @NotBlank final String key) {
+        return presignedUrlMapper.toDto(
+                taskService.createImageDownloadUrl(id, key));
+    }
 }
@@ -1,11 +1,19 @@
 package ru.maliutin.tasklist.web.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 
@@ -17,15 +25,22 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.maliutin.tasklist.domain.task.Task;
+import ru.maliutin.tasklist.domain.task.TaskPage;
+import ru.maliutin.tasklist.domain.task.TaskSort;
 import ru.maliutin.tasklist.domain.user.User;
+import ru.maliutin.tasklist.domain.user.UserProfile;
 import ru.maliutin.tasklist.service.TaskService;
 import ru.maliutin.tasklist.service.UserService;
 import ru.maliutin.tasklist.web.dto.task.TaskDto;
+import ru.maliutin.tasklist.web.dto.task.TaskPageDto;
 import ru.maliutin.tasklist.web.dto.user.UserDto;
 import ru.maliutin.tasklist.web.dto.validation.OnCreate;
 import ru.maliutin.tasklist.web.dto.validation.OnUpdate;
 import ru.maliutin.tasklist.web.mappers.TaskMapper;
+import ru.maliutin.tasklist.web.mappers.TaskPageMapper;
 import ru.maliutin.tasklist.web.mappers.UserMapper;
 
 import java.util.List;
@@ -58,6 +73,14 @@ public class UserController {
      * Поле маппера объектов задач (Task).
      */
     private final TaskMapper taskMapper;
+    /**
+     * Поле маппера страниц задач.
+     */
+    private final TaskPageMapper taskPageMapper;
+    /**
+     * Поле объекта преобразования объектов в JSON.
+     */
+    private final ObjectMapper objectMapper;
 
     /**
      * Обновление пользователя.
@@ -88,16 +111,14 @@ public class UserController {
      * @return найденный пользователь.
      */
     @GetMapping("/{id}")
-    // Аннотация graphql - TODO добавить описание, так же для @Argument
-    @QueryMapping(name = "userById")
     // Аннотация Swagger добавляющая описание метода в документацию.
     @Operation(summary = "Get UserDTO by id")
     // Аннотация проверяющая имеет ли аутентифицированный
     // пользователь доступ к методу
     @PreAuthorize("@customSecurityExpression.canAccessUser(#id)")
-    public UserDto getById(@PathVariable @Argument final Long id) {
-        User user = userService.getById(id);
-        return userMapper.toDto(user);
+    public UserDto getById(@PathVariable final Long id) {
+        UserProfile profile = userService.getProfileById(id);
+        return userMapper.toDto(profile);
     }
 
     /**
@@ -137,6 +158,71 @@ public class UserController {
         return taskMapper.toDto(tasks);
     }
 
+    /**
+     * Получение страницы задач конкретного пользователя.
+     *
+     * @param id     идентификатор пользователя.
+     * @param sort   порядок выдачи задач.
+     * @param cursor курсор предыдущей страницы (отсутствует - первая).
+     * @param limit  размер страницы.
+     * @return страница задач пользователя.
+     */
+    @GetMapping("/{id}/tasks/page")
+    @QueryMapping(name = "tasksPageByUserId")
+    // Аннотация Swagger добавляющая описание метода в документацию.
+    @Operation(summary = "Get page of user tasks by user id")
+    // Аннотация проверяющая имеет ли аутентифицированный
+    // пользователь доступ к методу
+    @PreAuthorize("@customSecurityExpression.canAccessUser(#id)")
+    public TaskPageDto getTasksPageByUserId(
+            @PathVariable @Argument final Long id,
+            @RequestParam(required = false) @Argument final TaskSort sort,
+            @RequestParam(required = false) @Argument final String cursor,
+            @RequestParam(required = false)
+            @Argument
+            @Min(1) @Max(TaskService.MAX_PAGE_SIZE) final Integer limit) {
+        TaskPage page = taskService.getPageByUserId(id, sort, cursor, limit);
+        return taskPageMapper.toDto(page);
+    }
+
+    /**
+     * Потоковая выдача всех задач пользователя JSON массивом.
+     * Задачи выбираются страницами и записываются в ответ
+     * по мере выборки, весь список в памяти не собирается.
+     *
+     * @param id идентификатор пользователя.
+     * @return потоковый ответ с задачами пользователя.
+     */
+    @GetMapping("/{id}/tasks/stream")
+    // Аннотация Swagger добавляющая описание метода в документацию.
+    @Operation(summary = "Stream all user tasks by user id")
+    // Аннотация проверяющая имеет ли аутентифицированный
+    // пользователь доступ к методу
+    @PreAuthorize("@customSecurityExpression.canAccessUser(#id)")
+    public ResponseEntity<StreamingResponseBody> streamTasksByUserId(
+            @PathVariable final Long id) {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator =
+                         objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                String cursor = null;
+                do {
+                    TaskPage page = taskService.getPageByUserId(id,
+                            TaskSort.ID, cursor, TaskService.MAX_PAGE_SIZE);
+                    for (Task task : page.getItems()) {
+                        generator.writeObject(taskMapper.toDto(task));
+                    }
+                    generator.flush();
+                    cursor = page.getNextCursor();
+                } while (cursor != null);
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
     /**
      * Создание новой задачи.
      *
@@ -163,4 +249,29 @@ public class UserController {
         System.out.println("В контроллере сохранили задачу: " + createdTask.getTitle());
         return taskMapper.toDto(createdTask);
     }
+
+    /**
+     * Создание нескольких задач одним запросом (импорт задач).
+     * Задачи создаются в одной транзакции: при ошибке
+     * не создается ни одна задача.
+     *
+     * @param id       идентификатор пользователя, которому принадлежат задачи.
+     * @param taskDtos новые задачи.
+     * @return созданные задачи.
+     */
+    @PostMapping("/{id}/tasks/batch")
+    @MutationMapping(name = "createTasks")
+    // Аннотация Swagger добавляющая описание метода в документацию.
+    @Operation(summary = "Add tasks to user in batch")
+    @PreAuthorize("@customSecurityExpression.canAccessUser(#id)")
+    // Группа проверки полей задач и размера списка.
+    @Validated(OnCreate.class)
+    public List<TaskDto> createTasks(
+            @PathVariable @Argument final Long id,
+            @RequestBody @Argument(name = "dtos")
+            @Size(max = TaskService.MAX_BULK_SIZE, groups = OnCreate.class)
+            final List<@Valid TaskDto> taskDtos) {
+        List<Task> tasks = taskMapper.toEntity(taskDtos);
+        return taskMapper.toDto(taskService.createAll(tasks, id));
+    }
 }
@@ -0,0 +1,28 @@
+package ru.maliutin.tasklist.web.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Имена изображения задачи и его уменьшенных копий в хранилище.
+ * Копии создаются после загрузки изображения в фоне,
+ * пока копии нет, клиент может использовать оригинал.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageVariantsDto {
+    /**
+     * Имя оригинала изображения.
+     */
+    private String original;
+    /**
+     * Имя миниатюры для списков задач.
+     */
+    private String thumbnail;
+    /**
+     * Имя изображения для просмотра задачи.
+     */
+    private String preview;
+}
@@ -0,0 +1,26 @@
+package ru.maliutin.tasklist.web.dto.task;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Подписанная ссылка для загрузки или скачивания изображения задачи
+ * напрямую из хранилища.
+ */
+@Data
+public class PresignedUrlDto {
+    /**
+     * Подписанная ссылка.
+     */
+    private String url;
+    /**
+     * Имя изображения в хранилище,
+     * после загрузки передается в запрос завершения загрузки.
+     */
+    private String key;
+    /**
+     * Время, после которого ссылка перестает действовать.
+     */
+    private Instant expiresAt;
+}
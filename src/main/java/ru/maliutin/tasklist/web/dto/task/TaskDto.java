@@ -74,4 +74,10 @@ public class TaskDto {
 
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private List<String> images;
+
+    /**
+     * Изображения задачи вместе с именами уменьшенных копий.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private List<ImageVariantsDto> imageVariants;
 }
@@ -0,0 +1,20 @@
+package ru.maliutin.tasklist.web.dto.task;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Класс служащий макетом для передачи страницы задач.
+ */
+@Data
+public class TaskPageDto {
+    /**
+     * Задачи страницы.
+     */
+    private List<TaskDto> items;
+    /**
+     * Курсор следующей страницы (null - страница последняя).
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,14 @@
+package ru.maliutin.tasklist.web.mappers;
+
+import org.mapstruct.Mapper;
+import ru.maliutin.tasklist.domain.task.PresignedUrl;
+import ru.maliutin.tasklist.web.dto.task.PresignedUrlDto;
+
+/**
+ * Интерфейс реализующий методы преобразования объектов PresignedUrl.
+ */
+@Mapper(componentModel = "spring")
+public interface PresignedUrlMapper
+        extends Mappable<PresignedUrl, PresignedUrlDto> {
+
+}
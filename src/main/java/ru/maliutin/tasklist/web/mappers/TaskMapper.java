@@ -1,13 +1,49 @@
 package ru.maliutin.tasklist.web.mappers;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+import ru.maliutin.tasklist.domain.task.ImageVariant;
 import ru.maliutin.tasklist.domain.task.Task;
+import ru.maliutin.tasklist.web.dto.task.ImageVariantsDto;
 import ru.maliutin.tasklist.web.dto.task.TaskDto;
 
+import java.util.List;
+
 /**
  * Интерфейс реализующий методы преобразования объектов Task.
  */
 @Mapper(componentModel = "spring")
 public interface TaskMapper extends Mappable<Task, TaskDto> {
 
+    @Override
+    @Mapping(target = "imageVariants", source = "images")
+    TaskDto toDto(Task entity);
+
+    /**
+     * Преобразование задачи без изображений: ленивая коллекция
+     * не загружается, изображения выбираются отдельно пачкой.
+     * @param entity задача.
+     * @return задача в виде объекта передачи данных без изображений.
+     */
+    @Named("withoutImages")
+    @Mapping(target = "images", ignore = true)
+    @Mapping(target = "imageVariants", ignore = true)
+    TaskDto toDtoWithoutImages(Task entity);
+
+    /**
+     * Получение имен уменьшенных копий изображений задачи.
+     * @param images имена оригиналов изображений.
+     * @return изображения вместе с именами копий.
+     */
+    default List<ImageVariantsDto> toImageVariants(List<String> images) {
+        if (images == null) {
+            return null;
+        }
+        return images.stream()
+                .map(image -> new ImageVariantsDto(image,
+                        ImageVariant.THUMBNAIL.key(image),
+                        ImageVariant.PREVIEW.key(image)))
+                .toList();
+    }
 }
@@ -0,0 +1,15 @@
+package ru.maliutin.tasklist.web.mappers;
+
+import org.mapstruct.Mapper;
+import ru.maliutin.tasklist.domain.task.TaskPage;
+import ru.maliutin.tasklist.web.dto.task.TaskPageDto;
+
+/**
+ * Интерфейс преобразования страниц задач.
+ * Задачи страницы преобразуются с помощью TaskMapper.
+ */
+@Mapper(componentModel = "spring", uses = TaskMapper.class)
+public interface TaskPageMapper {
+
+    TaskPageDto toDto(TaskPage page);
+}
@@ -1,7 +1,9 @@
 package ru.maliutin.tasklist.web.mappers;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import ru.maliutin.tasklist.domain.user.User;
+import ru.maliutin.tasklist.domain.user.UserProfile;
 import ru.maliutin.tasklist.web.dto.user.UserDto;
 
 /**
@@ -16,4 +18,13 @@ import ru.maliutin.tasklist.web.dto.user.UserDto;
 @Mapper(componentModel = "spring")
 public interface UserMapper extends Mappable<User, UserDto> {
 
+    /**
+     * Преобразование профиля пользователя: пароля в профиле нет,
+     * поля пароля в объекте передачи данных не заполняются.
+     * @param profile профиль пользователя.
+     * @return пользователь в виде объекта передачи данных.
+     */
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "passwordConfirmation", ignore = true)
+    UserDto toDto(UserProfile profile);
 }
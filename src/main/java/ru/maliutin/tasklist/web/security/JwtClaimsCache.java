@@ -0,0 +1,163 @@
+package ru.maliutin.tasklist.web.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.maliutin.tasklist.service.props.JwtProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Ограниченный по размеру кеш разобранных токенов.
+ * Ключом служит SHA-256 дайджест строки токена,
+ * поэтому сами токены в памяти не хранятся.
+ * Записи удаляются после истечения времени жизни токена.
+ */
+// Аннотация Spring - отмечающая класс, как компонент приложения.
+@Component
+public class JwtClaimsCache implements MeterBinder {
+    /**
+     * Разобранные токены по дайджесту строки токена.
+     */
+    private final Map<String, ParsedToken> tokens = new ConcurrentHashMap<>();
+    /**
+     * Максимальное количество токенов в кеше.
+     */
+    private final int maxSize;
+    /**
+     * Количество попаданий в кеш.
+     */
+    private final LongAdder hits = new LongAdder();
+    /**
+     * Количество промахов кеша.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Конструктор кеша.
+     *
+     * @param jwtProperties настройки токенов из application.yaml.
+     */
+    public JwtClaimsCache(final JwtProperties jwtProperties) {
+        this.maxSize = jwtProperties.getCacheSize();
+    }
+
+    /**
+     * Получение разобранного токена из кеша.
+     * При промахе токен разбирается переданной функцией
+     * и, если в кеше есть место, сохраняется.
+     *
+     * @param token  токен в строковом представлении.
+     * @param parser функция разбора токена с проверкой подписи.
+     * @return разобранный токен.
+     */
+    public ParsedToken get(final String token,
+                           final Function<String, ParsedToken> parser) {
+        String digest = digest(token);
+        ParsedToken parsedToken = tokens.get(digest);
+        if (parsedToken != null && !parsedToken.isExpired()) {
+            hits.increment();
+            return parsedToken;
+        }
+        misses.increment();
+        if (parsedToken != null) {
+            tokens.remove(digest, parsedToken);
+        }
+        // Разбор выбрасывает исключение для некорректных токенов,
+        // такие токены в кеш не попадают.
+        parsedToken = parser.apply(token);
+        if (maxSize > 0 && !parsedToken.isExpired()) {
+            if (tokens.size() >= maxSize) {
+                evictExpired();
+            }
+            if (tokens.size() < maxSize) {
+                tokens.put(digest, parsedToken);
+            }
+        }
+        return parsedToken;
+    }
+
+    /**
+     * Удаление из кеша токенов с истекшим временем жизни.
+     * Вызывается по расписанию раз в минуту.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        tokens.values().removeIf(ParsedToken::isExpired);
+    }
+
+    /**
+     * Количество попаданий в кеш.
+     *
+     * @return количество попаданий.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Количество промахов кеша.
+     *
+     * @return количество промахов.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Текущее количество токенов в кеше.
+     *
+     * @return размер кеша.
+     */
+    public int size() {
+        return tokens.size();
+    }
+
+    /**
+     * Регистрация метрик кеша в micrometer
+     * (доступны через /actuator/metrics).
+     *
+     * @param registry реестр метрик.
+     */
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder("jwt.claims.cache.hits", this,
+                        JwtClaimsCache::getHits)
+                .description("Parsed JWT claims cache hits")
+                .register(registry);
+        FunctionCounter.builder("jwt.claims.cache.misses", this,
+                        JwtClaimsCache::getMisses)
+                .description("Parsed JWT claims cache misses")
+                .register(registry);
+        Gauge.builder("jwt.claims.cache.size", this, JwtClaimsCache::size)
+                .description("Parsed JWT claims cache size")
+                .register(registry);
+    }
+
+    /**
+     * Служебный метод вычисления SHA-256 дайджеста токена.
+     *
+     * @param token токен в строковом представлении.
+     * @return дайджест токена в Base64.
+     */
+    private static String digest(final String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(
+                    messageDigest.digest(
+                            token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
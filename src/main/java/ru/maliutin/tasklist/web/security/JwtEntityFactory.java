@@ -4,6 +4,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import ru.maliutin.tasklist.domain.user.Role;
 import ru.maliutin.tasklist.domain.user.User;
+import ru.maliutin.tasklist.domain.user.UserIdentity;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +36,44 @@ public class JwtEntityFactory {
         );
     }
 
+    /**
+     * Метод преобразующий учетные данные пользователя в JwtEntity.
+     *
+     * @param identity учетные данные и роли пользователя.
+     * @return объект проверки для Spring Security.
+     */
+    public static JwtEntity create(final UserIdentity identity) {
+        return new JwtEntity(
+                identity.getId(),
+                identity.getUsername(),
+                identity.getName(),
+                identity.getPassword(),
+                mapToGrantedAuthorities(
+                        new ArrayList<>(identity.getRoles()))
+        );
+    }
+
+    /**
+     * Метод создающий JwtEntity из данных access токена,
+     * без обращения к хранилищу пользователей.
+     * Имя и пароль пользователя в токене не хранятся,
+     * поэтому в объекте они не заполняются.
+     *
+     * @param token разобранный access токен.
+     * @return объект проверки для Spring Security.
+     */
+    public static JwtEntity create(final ParsedToken token) {
+        return new JwtEntity(
+                token.getId(),
+                token.getUsername(),
+                null,
+                "",
+                token.getRoles().stream()
+                        .map(SimpleGrantedAuthority::new)
+                        .collect(Collectors.toList())
+        );
+    }
+
     /**
      * Служебный метод, который преобразует роли пользователя
      * из ENUM в GrantedAuthority.
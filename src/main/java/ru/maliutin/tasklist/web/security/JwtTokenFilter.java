@@ -54,20 +54,24 @@ public class JwtTokenFilter extends GenericFilterBean {
         }
         // Проверяем что бы полученный токен не был пустым
         // и передаем его на валидацию
-        if (bearerToken != null
-                && jwtTokenProvider.validateToken(bearerToken)) {
-            try {
-                // Получаем объект аутентификации передав
-                // в метод getAuthentication полученный токен
-                Authentication authentication =
-                        jwtTokenProvider.getAuthentication(bearerToken);
-                // Если объект аутентификации не пуст
-                if (authentication != null) {
-                    // Сообщаем Spring что пользователь прошел аутентификацию
-                    SecurityContextHolder
-                            .getContext().setAuthentication(authentication);
+        if (bearerToken != null) {
+            // Разбираем токен один раз, дальше используем разобранный объект
+            ParsedToken parsedToken = jwtTokenProvider.parseToken(bearerToken);
+            if (!parsedToken.isExpired()) {
+                try {
+                    // Получаем объект аутентификации передав
+                    // в метод getAuthentication разобранный токен
+                    Authentication authentication =
+                            jwtTokenProvider.getAuthentication(parsedToken);
+                    // Если объект аутентификации не пуст
+                    if (authentication != null) {
+                        // Сообщаем Spring что пользователь
+                        // прошел аутентификацию
+                        SecurityContextHolder.getContext()
+                                .setAuthentication(authentication);
+                    }
+                } catch (ResourceNotFoundException ignored) {
                 }
-            } catch (ResourceNotFoundException ignored) {
             }
         }
         filterChain.doFilter(servletRequest, servletResponse);
@@ -1,7 +1,7 @@
 package ru.maliutin.tasklist.web.security;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -15,10 +15,11 @@ import ru.maliutin.tasklist.domain.exception.AccessDeniedException;
 import ru.maliutin.tasklist.domain.user.Role;
 import ru.maliutin.tasklist.domain.user.User;
 import ru.maliutin.tasklist.service.UserService;
+import ru.maliutin.tasklist.service.UserVersionService;
 import ru.maliutin.tasklist.service.props.JwtProperties;
 import ru.maliutin.tasklist.web.dto.aut.JwtResponse;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
@@ -34,6 +35,10 @@ import java.util.Set;
 // Аннотация lombok - создающая в классе конструктор для полей.
 @RequiredArgsConstructor
 public class JwtTokenProvider {
+    /**
+     * Имя поля токена с версией пользователя.
+     */
+    private static final String VERSION_CLAIM = "ver";
     /**
      * Поле с данными токена полученными из application.yaml.
      */
@@ -47,11 +52,24 @@ public class JwtTokenProvider {
      * Поле с сервисом для работы с БД объекта пользователя.
      */
     private final UserService userService;
+    /**
+     * Поле с кешем разобранных токенов.
+     */
+    private final JwtClaimsCache claimsCache;
+    /**
+     * Поле с сервисом версий пользователей (отзыв токенов).
+     */
+    private final UserVersionService userVersionService;
     /**
      * Поле с секретным ключом токенов.
      * Заполняется в конструкторе из зависимостей в application.yaml
      */
-    private Key key;
+    private SecretKey key;
+    /**
+     * Поле с парсером токенов.
+     * Создается один раз, т.к. является потокобезопасным.
+     */
+    private JwtParser parser;
 
     /**
      * Заполнение поля ключа. В поле присваивается объект Keys
@@ -63,6 +81,9 @@ public class JwtTokenProvider {
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
     }
 
     /**
@@ -89,6 +110,7 @@ public class JwtTokenProvider {
                 .subject(username)
                 .add("id", userId)
                 .add("roles", resolveRoles(roles))
+                .add(VERSION_CLAIM, userVersionService.getVersion(userId))
                 .build();
 
         /*
@@ -133,7 +155,10 @@ public class JwtTokenProvider {
             final Long userId,
             final String username) {
         Claims claims = Jwts.claims()
-                .subject(username).add("id", userId).build();
+                .subject(username)
+                .add("id", userId)
+                .add(VERSION_CLAIM, userVersionService.getVersion(userId))
+                .build();
         Instant validity = Instant.now()
                 .plus(jwtProperties.getAccess(), ChronoUnit.DAYS);
         return Jwts.builder()
@@ -154,14 +179,16 @@ public class JwtTokenProvider {
     public JwtResponse refreshUserToken(final String refreshToken) {
         // Создаем новый объект Jwt ответа.
         JwtResponse jwtResponse = new JwtResponse();
+        // Разбираем полученный долгоживущий токен.
+        ParsedToken parsedToken = parseToken(refreshToken);
         // Производим валидацию полученного долгоживущего токена
-        if (!validateToken(refreshToken)) {
+        if (parsedToken.isExpired() || isRevoked(parsedToken)) {
             // В случае некорректной валидации
             // выбрасываем собственное исключение.
             throw new AccessDeniedException();
         }
         // Иначе получаем Id пользователя
-        Long userId = Long.parseLong(getId(refreshToken));
+        Long userId = parsedToken.getId();
         // Подгружаем пользователя из БД.
         User user = userService.getById(userId);
         // Заполняем поля объекта Jwt ответа
@@ -180,6 +207,29 @@ public class JwtTokenProvider {
         return jwtResponse;
     }
 
+    /**
+     * Метод разбора токена с проверкой подписи.
+     * Подпись каждого токена проверяется один раз,
+     * повторные обращения обслуживаются из кеша разобранных токенов.
+     *
+     * @param token токен в строковом представлении.
+     * @return разобранный токен.
+     */
+    public ParsedToken parseToken(final String token) {
+        return claimsCache.get(token, this::parseSignedToken);
+    }
+
+    /**
+     * Служебный метод преобразования полученной строки
+     * с токеном в объект токена с проверкой подписи.
+     *
+     * @param token токен в строковом представлении.
+     * @return разобранный токен.
+     */
+    private ParsedToken parseSignedToken(final String token) {
+        return new ParsedToken(parser.parseSignedClaims(token).getPayload());
+    }
+
     /**
      * Метод производящий валидацию токенов.
      * (Обрабатывает как access, так и refresh токены)
@@ -188,71 +238,65 @@ public class JwtTokenProvider {
      * @return true при успешной валидации, иначе false.
      */
     public boolean validateToken(final String token) {
-        // Проводим преобразование полученной строки с токеном в объект токена.
-        Jws<Claims> claims = Jwts.parser()
-                .setSigningKey(key)
-                .build()
-                .parseSignedClaims(token);
-
-        /*  Получаем данные из преобразованного токена getPayload(),
-            получаем метку времени жизни токена getExpiration(),
+        /*  Получаем метку времени жизни токена,
             проверяем что она раньше чем текущее время.
             Возвращаем отрицание полученного результата,
             если время жизни истекло вернем false, иначе вернем true.
         */
-        return !claims.getPayload().getExpiration().before(new Date());
+        return !parseToken(token).isExpired();
     }
 
     /**
-     * Метод получения Id пользователя из токена.
+     * Метод прохождения пользователем аутентификации.
      *
-     * @param token токен в строковом представлении
-     * @return Id пользователя в строковом представлении
+     * @param token токен в строковом представлении.
+     * @return объект аутентификации.
      */
-    private String getId(final String token) {
-        // Проводим преобразование полученной строки с токеном в объект токена.
-        return Jwts.parser()
-                .setSigningKey(key)
-                .build()
-                .parseSignedClaims(token)
-                // Получаем полезные данные (тело) токена.
-                .getPayload()
-                // По ключу из тела достаем id.
-                .get("id")
-                // Полученный id в виде строки возвращаем.
-                .toString();
+    public Authentication getAuthentication(final String token) {
+        return getAuthentication(parseToken(token));
     }
 
     /**
-     * Метод прохождения пользователем аутентификации.
+     * Метод прохождения пользователем аутентификации
+     * по уже разобранному токену.
      *
-     * @param token токен в строковом представлении.
+     * @param token разобранный токен.
      * @return объект аутентификации.
      */
-    public Authentication getAuthentication(final String token) {
-        // Используя служебный метод получаем логин пользователя
-        String username = getUsername(token);
+    public Authentication getAuthentication(final ParsedToken token) {
+        if (jwtProperties.isStateless()) {
+            // Токен отозван - аутентификация не проводится.
+            if (isRevoked(token)) {
+                return null;
+            }
+            // Создаем пользователя Spring Security из данных токена
+            // без обращения к хранилищу пользователей.
+            JwtEntity jwtEntity = JwtEntityFactory.create(token);
+            return new UsernamePasswordAuthenticationToken(
+                    jwtEntity, "", jwtEntity.getAuthorities());
+        }
         // Используя userDetailsService загружаем пользователя из БД
         // используя метод loadUserByUsername
         UserDetails userDetails =
-                userDetailsService.loadUserByUsername(username);
+                userDetailsService.loadUserByUsername(token.getUsername());
         // Возвращаем Spring Security учетные данные пользователя.
         return new UsernamePasswordAuthenticationToken(
                 userDetails, "", userDetails.getAuthorities());
     }
 
     /**
-     * Метод получения логина пользователя из токена.
+     * Служебный метод проверки отзыва токена.
+     * Токен отозван, если версия пользователя в нем
+     * меньше текущей версии пользователя.
+     * Токены без версии считаются выданными для версии 0.
      *
-     * @param token токен в строковом представлении.
-     * @return логин пользователя в строковом представлении.
+     * @param token разобранный токен.
+     * @return true - если токен отозван, иначе false.
      */
-    private String getUsername(final String token) {
-        return Jwts.parser()
-                .setSigningKey(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+    private boolean isRevoked(final ParsedToken token) {
+        Long version = token.get(VERSION_CLAIM, Long.class);
+        long tokenVersion = version == null ? 0L : version;
+        return tokenVersion
+                < userVersionService.getVersion(token.getId());
     }
 }
@@ -5,7 +5,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import ru.maliutin.tasklist.domain.user.User;
+import ru.maliutin.tasklist.domain.user.UserIdentity;
 import ru.maliutin.tasklist.service.UserService;
 
 /**
@@ -30,6 +30,7 @@ public class JwtUserDetailService implements UserDetailsService {
      * Реализованный метод интерфейса UserDetailsService,
      * используя UserService осуществляет запрос в БД для поиска
      * пользователя по логину переданному в параметр метода.
+     * Загружаются только учетные данные и роли пользователя.
      * Используя маппер преобразует полученный объект пользователя в тип
      * необходимый для Spring Security.
      *
@@ -42,7 +43,7 @@ public class JwtUserDetailService implements UserDetailsService {
     public UserDetails loadUserByUsername(
             final String username)
             throws UsernameNotFoundException {
-        User user = userService.getByUsername(username);
-        return JwtEntityFactory.create(user);
+        UserIdentity identity = userService.getIdentityByUsername(username);
+        return JwtEntityFactory.create(identity);
     }
 }
@@ -0,0 +1,148 @@
+package ru.maliutin.tasklist.web.security;
+
+import io.micrometer.context.ThreadLocalAccessor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.execution.SecurityContextThreadLocalAccessor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.WebSocketGraphQlInterceptor;
+import org.springframework.graphql.server.WebSocketGraphQlRequest;
+import org.springframework.graphql.server.WebSocketSessionInfo;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import ru.maliutin.tasklist.config.QueryCostInstrumentation;
+import ru.maliutin.tasklist.domain.exception.AccessDeniedException;
+
+import java.util.Map;
+
+/**
+ * Аутентификация соединений GraphQL по WebSocket (/graphql-ws).
+ * Браузерные клиенты graphql-ws не могут передать заголовок
+ * Authorization при установке соединения, поэтому токен передается
+ * в сообщении connection_init: {"Authorization": "Bearer ..."}.
+ * Если токена в сообщении нет, используется пользователь,
+ * прошедший аутентификацию при установке соединения по заголовку.
+ * Пользователь соединения передается в контекст безопасности
+ * каждого запроса (подписки), выполняемого через это соединение.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtWebSocketInterceptor implements WebSocketGraphQlInterceptor {
+    /**
+     * Ключ пользователя в атрибутах соединения.
+     */
+    static final String AUTHENTICATION_KEY =
+            JwtWebSocketInterceptor.class.getName() + ".authentication";
+    /**
+     * Имя параметра с токеном в сообщении connection_init.
+     */
+    private static final String TOKEN_PARAM = "Authorization";
+    /**
+     * Передача контекста безопасности в потоки выполнения запроса.
+     */
+    private static final ThreadLocalAccessor<?> SECURITY_CONTEXT =
+            new SecurityContextThreadLocalAccessor();
+
+    /**
+     * Поле с сервисом работы с токенами.
+     */
+    private final JwtTokenProvider jwtTokenProvider;
+
+    /**
+     * Проверка токена из сообщения connection_init.
+     * При ошибке соединение закрывается (код 4401).
+     *
+     * @param sessionInfo данные соединения.
+     * @param payload     параметры сообщения connection_init.
+     * @return пустой ответ или ошибка аутентификации.
+     */
+    @Override
+    public Mono<Object> handleConnectionInitialization(
+            final WebSocketSessionInfo sessionInfo,
+            final Map<String, Object> payload) {
+        String token = findToken(payload);
+        Mono<Authentication> authentication = token == null
+                ? sessionInfo.getPrincipal()
+                        .filter(Authentication.class::isInstance)
+                        .cast(Authentication.class)
+                : Mono.fromCallable(() -> authenticate(token));
+        return authentication
+                .switchIfEmpty(Mono.error(AccessDeniedException::new))
+                .doOnNext(value -> sessionInfo.getAttributes()
+                        .put(AUTHENTICATION_KEY, value))
+                .then(Mono.empty());
+    }
+
+    /**
+     * Выполнение запроса от имени пользователя соединения.
+     *
+     * @param request запрос GraphQL.
+     * @param chain   цепочка обработки запроса.
+     * @return ответ на запрос.
+     */
+    @Override
+    public Mono<WebGraphQlResponse> intercept(final WebGraphQlRequest request,
+                                              final Chain chain) {
+        if (!(request instanceof WebSocketGraphQlRequest webSocketRequest)) {
+            return chain.next(request);
+        }
+        Object value = webSocketRequest.getSessionInfo().getAttributes()
+                .get(AUTHENTICATION_KEY);
+        if (!(value instanceof Authentication authentication)) {
+            return chain.next(request);
+        }
+        request.configureExecutionInput((input, builder) ->
+                builder.graphQLContext(context -> context.of(
+                                QueryCostInstrumentation.USER_KEY,
+                                authentication.getName()))
+                        .build());
+        return chain.next(request).contextWrite(Context.of(
+                SECURITY_CONTEXT.key(),
+                new SecurityContextImpl(authentication)));
+    }
+
+    /**
+     * Служебный метод получения токена из параметров сообщения.
+     *
+     * @param payload параметры сообщения connection_init.
+     * @return токен или null.
+     */
+    private static String findToken(final Map<String, Object> payload) {
+        for (Map.Entry<String, Object> entry : payload.entrySet()) {
+            if (TOKEN_PARAM.equalsIgnoreCase(entry.getKey())
+                    && entry.getValue() instanceof String token) {
+                return token.startsWith("Bearer ")
+                        ? token.substring(7) : token;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Служебный метод аутентификации по токену.
+     *
+     * @param token access токен.
+     * @return объект аутентификации.
+     * @throws AccessDeniedException токен недействителен или отозван.
+     */
+    private Authentication authenticate(final String token) {
+        ParsedToken parsedToken;
+        try {
+            parsedToken = jwtTokenProvider.parseToken(token);
+        } catch (RuntimeException e) {
+            throw new AccessDeniedException();
+        }
+        if (parsedToken.isExpired()) {
+            throw new AccessDeniedException();
+        }
+        Authentication authentication =
+                jwtTokenProvider.getAuthentication(parsedToken);
+        if (authentication == null) {
+            throw new AccessDeniedException();
+        }
+        return authentication;
+    }
+}
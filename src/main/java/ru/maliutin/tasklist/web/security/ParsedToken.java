@@ -0,0 +1,93 @@
+package ru.maliutin.tasklist.web.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Разобранный токен с уже проверенной подписью.
+ * Создается один раз при разборе строки токена
+ * и далее используется без повторной проверки подписи.
+ */
+public final class ParsedToken {
+    /**
+     * Полезные данные (тело) токена.
+     */
+    private final Claims claims;
+    /**
+     * Время, после которого токен перестает быть действительным.
+     */
+    private final Instant expiration;
+
+    /**
+     * Конструктор разобранного токена.
+     *
+     * @param claims тело токена с проверенной подписью.
+     */
+    public ParsedToken(final Claims claims) {
+        this.claims = claims;
+        this.expiration = claims.getExpiration().toInstant();
+    }
+
+    /**
+     * Получение идентификатора пользователя из токена.
+     *
+     * @return идентификатор пользователя.
+     */
+    public Long getId() {
+        return claims.get("id", Long.class);
+    }
+
+    /**
+     * Получение логина пользователя из токена.
+     *
+     * @return логин пользователя.
+     */
+    public String getUsername() {
+        return claims.getSubject();
+    }
+
+    /**
+     * Получение имен ролей пользователя из токена.
+     * У refresh токена ролей нет, возвращается пустой список.
+     *
+     * @return список с именами ролей.
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> getRoles() {
+        List<String> roles = claims.get("roles", List.class);
+        return roles == null ? Collections.emptyList() : roles;
+    }
+
+    /**
+     * Получение значения произвольного поля токена.
+     *
+     * @param name         имя поля.
+     * @param requiredType тип значения.
+     * @param <T>          тип значения.
+     * @return значение поля или null.
+     */
+    public <T> T get(final String name, final Class<T> requiredType) {
+        return claims.get(name, requiredType);
+    }
+
+    /**
+     * Время окончания действия токена.
+     *
+     * @return время окончания действия токена.
+     */
+    public Instant getExpiration() {
+        return expiration;
+    }
+
+    /**
+     * Проверка истекло ли время жизни токена.
+     *
+     * @return true - если токен просрочен, иначе false.
+     */
+    public boolean isExpired() {
+        return !expiration.isAfter(Instant.now());
+    }
+}
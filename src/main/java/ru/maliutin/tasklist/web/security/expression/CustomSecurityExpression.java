@@ -9,6 +9,8 @@ import ru.maliutin.tasklist.domain.user.Role;
 import ru.maliutin.tasklist.service.UserService;
 import ru.maliutin.tasklist.web.security.JwtEntity;
 
+import java.util.Collection;
+
 /**
  * Первый способ. Нужно создать этот класс и повесить аннотации в контреллерах.
  * Класс определяющий возможность пользователя доступа
@@ -63,4 +65,21 @@ public class CustomSecurityExpression {
 
         return userService.isTaskOwner(userId, taskId);
     }
+
+    /**
+     * Проверка доступа к нескольким задачам одной проверкой
+     * (для списков и пакетных операций).
+     *
+     * @param taskIds идентификаторы задач.
+     * @return true - если все задачи принадлежат пользователю, иначе false.
+     */
+    public boolean canAccessTasks(final Collection<Long> taskIds) {
+        Authentication authentication =
+                SecurityContextHolder.getContext().getAuthentication();
+
+        JwtEntity user = (JwtEntity) authentication.getPrincipal();
+        Long userId = user.getId();
+
+        return userService.isTasksOwner(userId, taskIds);
+    }
 }
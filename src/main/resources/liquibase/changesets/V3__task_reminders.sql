@@ -0,0 +1,8 @@
+create table if not exists task_reminders
+(
+    task_id         bigint    not null,
+    expiration_date timestamp not null,
+    reminded_at     timestamp not null default now(),
+    primary key (task_id, expiration_date),
+    constraint fk_task_reminders_tasks foreign key (task_id) references tasks (id) on delete cascade on update no action
+);
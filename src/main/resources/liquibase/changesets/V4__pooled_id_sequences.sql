@@ -0,0 +1,5 @@
+-- Шаг последовательностей совпадает с allocationSize в @SequenceGenerator
+-- (Task.ID_ALLOCATION_SIZE, User.ID_ALLOCATION_SIZE): приложение получает
+-- из последовательности верхнюю границу блока из 50 идентификаторов.
+alter sequence tasks_id_seq increment by 50;
+alter sequence users_id_seq increment by 50;
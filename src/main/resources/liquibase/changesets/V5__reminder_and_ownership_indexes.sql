@@ -0,0 +1,11 @@
+-- Выборка напоминаний (findDueReminders, findAllSoonTasks): интервал
+-- срока выполнения среди невыполненных задач. Выполненные задачи
+-- в индекс не попадают, поэтому он растет только с числом активных задач.
+create index if not exists idx_tasks_expiration_date_not_done
+    on tasks (expiration_date)
+    where status <> 'DONE';
+
+-- Поиск автора и владельца по задаче (findTaskAuthor, findOwnerId),
+-- первичный ключ (user_id, task_id) для этого не подходит.
+create index if not exists idx_users_tasks_task_id
+    on users_tasks (task_id);
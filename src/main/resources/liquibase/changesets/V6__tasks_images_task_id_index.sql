@@ -0,0 +1,4 @@
+-- Загрузка изображений задач пачкой (findImages, @BatchSize коллекции
+-- Task.images): выборка по task_id = ANY (...) без полного чтения таблицы.
+create index if not exists idx_tasks_images_task_id
+    on tasks_images (task_id);
@@ -0,0 +1,93 @@
+package ru.maliutin.tasklist.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Сравнение результатов бенчмарков (JSON JMH) с базовыми.
+ * Бенчмарк считается ухудшившимся, если его результат хуже
+ * базового больше чем на заданный процент (для режимов среднего
+ * времени - больше время, для пропускной способности - меньше
+ * операций). При ухудшении программа завершается с кодом 1.
+ * Запуск: mvn -Pbenchmark exec:exec@compare
+ * -Dbenchmark.baseline=baseline.json [-Dbenchmark.threshold=10]
+ */
+public final class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    /**
+     * @param args файл базовых результатов, файл текущих результатов,
+     *             допустимое ухудшение в процентах.
+     * @throws IOException ошибка чтения результатов.
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison"
+                    + " <baseline.json> <current.json> [threshold %]");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW        %s%n", entry.getKey());
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            double oldScore = before.path("primaryMetric").path("score")
+                    .asDouble();
+            double newScore = after.path("primaryMetric").path("score")
+                    .asDouble();
+            double change = (newScore - oldScore) / oldScore * 100;
+            boolean throughput = "thrpt".equals(after.path("mode").asText());
+            double worse = throughput ? -change : change;
+            boolean regression = worse > threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-10s %s: %.3f -> %.3f %s (%+.1f%%)%n",
+                    regression ? "REGRESSION" : "OK", entry.getKey(),
+                    oldScore, newScore,
+                    after.path("primaryMetric").path("scoreUnit").asText(),
+                    change);
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n",
+                    regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Служебный метод чтения результатов. Ключ - имя бенчмарка,
+     * режим и значения параметров.
+     *
+     * @param file файл результатов JMH в формате JSON.
+     * @return результаты по ключу бенчмарка.
+     * @throws IOException ошибка чтения файла.
+     */
+    private static Map<String, JsonNode> read(final File file)
+            throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(
+                    result.path("benchmark").asText())
+                    .append(" [").append(result.path("mode").asText());
+            result.path("params").fields().forEachRemaining(param ->
+                    key.append(", ").append(param.getKey()).append('=')
+                            .append(param.getValue().asText()));
+            results.put(key.append(']').toString(), result);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,123 @@
+package ru.maliutin.tasklist.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import ru.maliutin.tasklist.config.cache.CompactCacheSerializer;
+import ru.maliutin.tasklist.config.cache.DomainCacheCodecs;
+import ru.maliutin.tasklist.domain.task.Status;
+import ru.maliutin.tasklist.domain.task.Task;
+import ru.maliutin.tasklist.domain.user.Role;
+import ru.maliutin.tasklist.domain.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Кодирование и декодирование значений кеша:
+ * jdk* - стандартная сериализация Java (прежний формат),
+ * compact* - CompactCacheSerializer.
+ * Размер закодированных значений выводится при запуске (setUp).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheCodecBenchmark {
+
+    private final JdkSerializationRedisSerializer jdk =
+            new JdkSerializationRedisSerializer();
+    private final CompactCacheSerializer compact =
+            new CompactCacheSerializer(DomainCacheCodecs.all());
+
+    private Task task;
+    private User user;
+    private byte[] jdkTask;
+    private byte[] compactTask;
+    private byte[] jdkUser;
+    private byte[] compactUser;
+
+    @Setup
+    public void setUp() {
+        task = new Task();
+        task.setId(123456L);
+        task.setTitle("Call Mike");
+        task.setDescription("Do not forget to call Mike about the report");
+        task.setStatus(Status.IN_PROGRESS);
+        task.setExpirationDate(LocalDateTime.of(2024, 1, 31, 18, 30));
+        List<String> images = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            images.add("123456/3f1c6a2e-9c1b-4a53-8f7e-2d9a6e1b0c4" + i
+                    + ".png");
+        }
+        task.setImages(images);
+        user = new User();
+        user.setId(42L);
+        user.setName("John Doe");
+        user.setUsername("johndoe@gmail.com");
+        user.setPassword(
+                "$2a$10$eaL9RAsJeY95hERA/D6iUOMLfDzt7FcIqcf39ytbShEioVYm0KGLq");
+        user.setRoles(Set.of(Role.ROLE_USER));
+        jdkTask = jdk.serialize(task);
+        compactTask = compact.serialize(task);
+        jdkUser = jdk.serialize(user);
+        compactUser = compact.serialize(user);
+        System.out.printf("%nEncoded size, bytes: task jdk=%d compact=%d,"
+                        + " user jdk=%d compact=%d%n",
+                jdkTask.length, compactTask.length,
+                jdkUser.length, compactUser.length);
+    }
+
+    @Benchmark
+    public byte[] jdkEncodeTask() {
+        return jdk.serialize(task);
+    }
+
+    @Benchmark
+    public byte[] compactEncodeTask() {
+        return compact.serialize(task);
+    }
+
+    @Benchmark
+    public Object jdkDecodeTask() {
+        return jdk.deserialize(jdkTask);
+    }
+
+    @Benchmark
+    public Object compactDecodeTask() {
+        return compact.deserialize(compactTask);
+    }
+
+    @Benchmark
+    public byte[] jdkEncodeUser() {
+        return jdk.serialize(user);
+    }
+
+    @Benchmark
+    public byte[] compactEncodeUser() {
+        return compact.serialize(user);
+    }
+
+    @Benchmark
+    public Object jdkDecodeUser() {
+        return jdk.deserialize(jdkUser);
+    }
+
+    @Benchmark
+    public Object compactDecodeUser() {
+        return compact.deserialize(compactUser);
+    }
+}
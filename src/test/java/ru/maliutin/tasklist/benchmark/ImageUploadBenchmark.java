@@ -0,0 +1,152 @@
+package ru.maliutin.tasklist.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.minio.BucketExistsArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+import ru.maliutin.tasklist.domain.task.TaskImage;
+import ru.maliutin.tasklist.service.impl.ImageServiceImpl;
+import ru.maliutin.tasklist.service.impl.WorkerThreads;
+import ru.maliutin.tasklist.service.props.ImageProperties;
+import ru.maliutin.tasklist.service.props.MinioProperties;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Загрузка изображений 1-50 Мб в локальную заглушку S3 API.
+ * legacyUpload - прежний способ: проверка корзины на каждую загрузку
+ * и размер из InputStream.available() с частями по умолчанию;
+ * upload - ImageServiceImpl: корзина проверяется при старте,
+ * реальный размер файла и настроенный размер части.
+ * Пропускная способность в Мб/с - результат режима thrpt (ops/s),
+ * умноженный на sizeMb; p99 задержки - p0.99 режима sample.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImageUploadBenchmark {
+
+    private static final String BUCKET = "images";
+
+    @Param({"1", "10", "50"})
+    private int sizeMb;
+
+    private HttpServer server;
+    private MinioClient minioClient;
+    private ImageServiceImpl imageService;
+    private TaskImage image;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", ImageUploadBenchmark::handle);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+        // Регион задан явно, чтобы клиент не запрашивал расположение корзины.
+        minioClient = MinioClient.builder()
+                .endpoint("http://localhost:" + server.getAddress().getPort())
+                .region("us-east-1")
+                .credentials("minio", "minio123")
+                .build();
+        MinioProperties properties = new MinioProperties();
+        properties.setBucket(BUCKET);
+        imageService = new ImageServiceImpl(minioClient, properties,
+                new ImageProperties(),
+                new WorkerThreads());
+        imageService.init();
+        byte[] content = new byte[sizeMb * 1024 * 1024];
+        ThreadLocalRandom.current().nextBytes(content);
+        image = new TaskImage();
+        image.setFile(new MockMultipartFile("file", "image.png",
+                "image/png", content));
+    }
+
+    @TearDown
+    public void tearDown() {
+        imageService.destroy();
+        server.stop(0);
+    }
+
+    @Benchmark
+    public void legacyUpload() throws Exception {
+        minioClient.bucketExists(BucketExistsArgs.builder()
+                .bucket(BUCKET)
+                .build());
+        try (InputStream inputStream = image.getFile().getInputStream()) {
+            minioClient.putObject(PutObjectArgs.builder()
+                    .stream(inputStream, inputStream.available(), -1)
+                    .bucket(BUCKET)
+                    .object("legacy.png")
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public String upload() {
+        return imageService.upload(image);
+    }
+
+    /**
+     * Минимальная реализация S3 API: проверка корзины, загрузка объекта
+     * и загрузка по частям. Тело запроса читается и отбрасывается.
+     *
+     * @param exchange запрос.
+     * @throws IOException ошибка чтения запроса.
+     */
+    private static void handle(final HttpExchange exchange)
+            throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        }
+        String query = exchange.getRequestURI().getQuery();
+        String path = exchange.getRequestURI().getPath();
+        String key = path.substring(path.indexOf('/', 1) + 1);
+        String response = "";
+        if ("POST".equals(exchange.getRequestMethod())) {
+            response = query != null && query.startsWith("uploads")
+                    ? "<InitiateMultipartUploadResult><Bucket>" + BUCKET
+                    + "</Bucket><Key>" + key
+                    + "</Key><UploadId>1</UploadId>"
+                    + "</InitiateMultipartUploadResult>"
+                    : "<CompleteMultipartUploadResult><Bucket>" + BUCKET
+                    + "</Bucket><Key>" + key
+                    + "</Key><ETag>\"etag\"</ETag>"
+                    + "</CompleteMultipartUploadResult>";
+        }
+        exchange.getResponseHeaders().add("ETag", "\"etag\"");
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(200, -1);
+        } else {
+            exchange.sendResponseHeaders(200,
+                    bytes.length == 0 ? -1 : bytes.length);
+            exchange.getResponseBody().write(bytes);
+        }
+        exchange.close();
+    }
+}
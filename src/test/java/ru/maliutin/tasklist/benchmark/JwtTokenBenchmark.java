@@ -0,0 +1,123 @@
+package ru.maliutin.tasklist.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.maliutin.tasklist.domain.user.Role;
+import ru.maliutin.tasklist.domain.user.User;
+import ru.maliutin.tasklist.service.UserVersionService;
+import ru.maliutin.tasklist.service.props.JwtProperties;
+import ru.maliutin.tasklist.web.security.JwtClaimsCache;
+import ru.maliutin.tasklist.web.security.JwtEntity;
+import ru.maliutin.tasklist.web.security.JwtEntityFactory;
+import ru.maliutin.tasklist.web.security.JwtTokenProvider;
+import ru.maliutin.tasklist.web.security.ParsedToken;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Аутентификация по токену:
+ * createAccessToken - создание и подпись access токена,
+ * validateCached - проверка токена из кеша разобранных токенов,
+ * validateUncached - проверка с разбором и проверкой подписи
+ * (кеш отключен, jwt.cache-size = 0),
+ * entityFromToken, entityFromUser - создание пользователя
+ * Spring Security (JwtEntityFactory.create).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenBenchmark {
+
+    private static final String SECRET =
+            "c2VjcmV0LWtleS1mb3ItdGFza2xpc3QtYmVuY2htYXJrLXRva2Vucw==";
+
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private User user;
+    private String token;
+    private ParsedToken parsedToken;
+
+    @Setup
+    public void setUp() {
+        cachedProvider = provider(10_000);
+        uncachedProvider = provider(0);
+        user = new User();
+        user.setId(42L);
+        user.setName("John Doe");
+        user.setUsername("johndoe@gmail.com");
+        user.setPassword(
+                "$2a$10$eaL9RAsJeY95hERA/D6iUOMLfDzt7FcIqcf39ytbShEioVYm0KGLq");
+        user.setRoles(Set.of(Role.ROLE_USER, Role.ROLE_ADMIN));
+        token = cachedProvider.createAccessToken(user.getId(),
+                user.getUsername(), user.getRoles());
+        parsedToken = cachedProvider.parseToken(token);
+    }
+
+    /**
+     * Служебный метод создания сервиса токенов без хранилища
+     * пользователей: версия всех пользователей равна 0.
+     *
+     * @param cacheSize размер кеша разобранных токенов.
+     * @return сервис токенов.
+     */
+    private static JwtTokenProvider provider(final int cacheSize) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setAccess(1L);
+        properties.setRefresh(30L);
+        properties.setCacheSize(cacheSize);
+        UserVersionService versions = new UserVersionService() {
+            @Override
+            public long getVersion(final long userId) {
+                return 0;
+            }
+
+            @Override
+            public long increment(final long userId) {
+                return 0;
+            }
+        };
+        JwtTokenProvider provider = new JwtTokenProvider(properties,
+                null, null, new JwtClaimsCache(properties), versions);
+        provider.init();
+        return provider;
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return cachedProvider.createAccessToken(user.getId(),
+                user.getUsername(), user.getRoles());
+    }
+
+    @Benchmark
+    public boolean validateCached() {
+        return cachedProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateUncached() {
+        return uncachedProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public JwtEntity entityFromToken() {
+        return JwtEntityFactory.create(parsedToken);
+    }
+
+    @Benchmark
+    public JwtEntity entityFromUser() {
+        return JwtEntityFactory.create(user);
+    }
+}
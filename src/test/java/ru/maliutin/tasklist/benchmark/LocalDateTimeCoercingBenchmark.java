@@ -0,0 +1,81 @@
+package ru.maliutin.tasklist.benchmark;
+
+import graphql.GraphQLContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.maliutin.tasklist.config.LocalDateTimeCoercing;
+
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразование скаляра LocalDateTime GraphQL (поле expirationDate):
+ * legacySerialize - прежний вывод через SimpleDateFormat и Date,
+ * serialize - LocalDateTimeCoercing, parseIso и parseRest - разбор
+ * формата вывода и формата REST API.
+ * При запуске (setUp) проверяется совпадение вывода с прежним.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocalDateTimeCoercingBenchmark {
+
+    private final LocalDateTimeCoercing coercing = new LocalDateTimeCoercing();
+    private final GraphQLContext context = GraphQLContext.getDefault();
+
+    private LocalDateTime dateTime;
+    private String iso;
+    private String rest;
+
+    @Setup
+    public void setUp() {
+        dateTime = LocalDateTime.of(2024, 1, 31, 18, 30, 5, 123_000_000);
+        iso = coercing.serialize(dateTime, context, Locale.ENGLISH);
+        rest = "2024-01-31 18:30";
+        String legacy = legacySerialize();
+        if (!legacy.equals(iso)) {
+            throw new IllegalStateException(
+                    "Output differs: " + iso + " != " + legacy);
+        }
+    }
+
+    @Benchmark
+    public String legacySerialize() {
+        SimpleDateFormat formatter =
+                new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX",
+                        Locale.ENGLISH);
+        return formatter.format(Date.from(dateTime
+                .atZone(ZoneId.systemDefault())
+                .toInstant()));
+    }
+
+    @Benchmark
+    public String serialize() {
+        return coercing.serialize(dateTime, context, Locale.ENGLISH);
+    }
+
+    @Benchmark
+    public LocalDateTime parseIso() {
+        return coercing.parseValue(iso, context, Locale.ENGLISH);
+    }
+
+    @Benchmark
+    public LocalDateTime parseRest() {
+        return coercing.parseValue(rest, context, Locale.ENGLISH);
+    }
+}
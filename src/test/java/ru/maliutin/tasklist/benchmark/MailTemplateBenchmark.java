@@ -0,0 +1,90 @@
+package ru.maliutin.tasklist.benchmark;
+
+import freemarker.template.Configuration;
+import freemarker.template.TemplateException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.maliutin.tasklist.domain.mail.RegistrationMail;
+import ru.maliutin.tasklist.domain.mail.ReminderMail;
+import ru.maliutin.tasklist.service.impl.MailTemplateRenderer;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускная способность наполнения писем по шаблонам.
+ * legacy* - прежний способ: поиск шаблона, HashMap модели,
+ * Properties параметров и новый StringWriter на каждое письмо;
+ * остальные - MailTemplateRenderer с загруженными заранее шаблонами,
+ * типизированной моделью и буфером начального размера под письмо.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MailTemplateBenchmark {
+
+    private Configuration configuration;
+    private MailTemplateRenderer renderer;
+
+    @Setup
+    public void setUp() throws IOException {
+        configuration = new Configuration(Configuration.VERSION_2_3_32);
+        configuration.setClassForTemplateLoading(getClass(), "/templates");
+        configuration.setDefaultEncoding("UTF-8");
+        renderer = new MailTemplateRenderer(configuration);
+        renderer.init();
+    }
+
+    @Benchmark
+    public String legacyRegistration()
+            throws IOException, TemplateException {
+        StringWriter writer = new StringWriter();
+        Map<String, Object> model = new HashMap<>();
+        model.put("name", "John Doe");
+        configuration.getTemplate("register.ftlh").process(model, writer);
+        return writer.getBuffer().toString();
+    }
+
+    @Benchmark
+    public String registration() {
+        return renderer.render(new RegistrationMail("John Doe"));
+    }
+
+    @Benchmark
+    public String legacyReminder() throws IOException, TemplateException {
+        Properties params = new Properties();
+        params.setProperty("task.title", "Call Mike");
+        params.setProperty("task.description", "Do not forget to call Mike");
+        StringWriter writer = new StringWriter();
+        Map<String, Object> model = new HashMap<>();
+        model.put("name", "John Doe");
+        model.put("title", params.getProperty("task.title"));
+        model.put("description", params.getProperty("task.description"));
+        model.put("window", "1 hour");
+        configuration.getTemplate("reminder.ftlh").process(model, writer);
+        return writer.getBuffer().toString();
+    }
+
+    @Benchmark
+    public String reminder() {
+        return renderer.render(new ReminderMail("John Doe", "Call Mike",
+                "Do not forget to call Mike", "1 hour"));
+    }
+}
@@ -0,0 +1,96 @@
+package ru.maliutin.tasklist.benchmark;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.maliutin.tasklist.domain.task.Status;
+import ru.maliutin.tasklist.domain.task.Task;
+import ru.maliutin.tasklist.domain.user.Role;
+import ru.maliutin.tasklist.domain.user.User;
+import ru.maliutin.tasklist.web.dto.task.TaskDto;
+import ru.maliutin.tasklist.web.dto.user.UserDto;
+import ru.maliutin.tasklist.web.mappers.TaskMapper;
+import ru.maliutin.tasklist.web.mappers.UserMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразование списков моделей в объекты передачи данных
+ * (реализации MapStruct): tasksToDto - список задач
+ * с изображениями и их копиями, tasksToDtoWithoutImages - список
+ * задач без изображений (GraphQL), usersToDto - список пользователей.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"100"})
+    private int size;
+
+    private final TaskMapper taskMapper = Mappers.getMapper(TaskMapper.class);
+    private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+
+    private List<Task> tasks;
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        tasks = new ArrayList<>(size);
+        users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Task task = new Task();
+            task.setId(i);
+            task.setTitle("Task " + i);
+            task.setDescription("Description of task " + i);
+            task.setStatus(Status.TODO);
+            task.setExpirationDate(LocalDateTime.of(2024, 1, 31, 18, 30)
+                    .plusDays(i % 30));
+            task.setImages(List.of(i + "/image-1.png", i + "/image-2.png"));
+            tasks.add(task);
+            User user = new User();
+            user.setId(i);
+            user.setName("User " + i);
+            user.setUsername("user" + i + "@gmail.com");
+            user.setPassword(
+                    "$2a$10$eaL9RAsJeY95hERA/D6iUOMLfDzt7FcIqcf39ytbShEioVYm0KGLq");
+            user.setRoles(Set.of(Role.ROLE_USER));
+            users.add(user);
+        }
+    }
+
+    @Benchmark
+    public List<TaskDto> tasksToDto() {
+        return taskMapper.toDto(tasks);
+    }
+
+    @Benchmark
+    public List<TaskDto> tasksToDtoWithoutImages() {
+        List<TaskDto> result = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            result.add(taskMapper.toDtoWithoutImages(task));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<UserDto> usersToDto() {
+        return userMapper.toDto(users);
+    }
+}
@@ -0,0 +1,91 @@
+package ru.maliutin.tasklist.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.maliutin.tasklist.domain.task.Status;
+import ru.maliutin.tasklist.web.dto.task.ImageVariantsDto;
+import ru.maliutin.tasklist.web.dto.task.TaskDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация TaskDto в JSON (ответы REST API):
+ * writeTask - одна задача, writeTasks - список задач.
+ * ObjectMapper создается с настройками Spring по умолчанию
+ * (модуль java.time, даты не в виде чисел).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskDtoJsonBenchmark {
+
+    @Param({"100"})
+    private int size;
+
+    private ObjectWriter writer;
+    private TaskDto task;
+    private List<TaskDto> tasks;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(task(i));
+        }
+        task = tasks.get(0);
+    }
+
+    /**
+     * Служебный метод создания задачи с двумя изображениями.
+     *
+     * @param id идентификатор задачи.
+     * @return задача.
+     */
+    private static TaskDto task(final long id) {
+        TaskDto dto = new TaskDto();
+        dto.setId(id);
+        dto.setTitle("Task " + id);
+        dto.setDescription("Description of task " + id);
+        dto.setStatus(Status.IN_PROGRESS);
+        dto.setExpirationDate(LocalDateTime.of(2024, 1, 31, 18, 30));
+        List<String> images = List.of(id + "/image-1.png",
+                id + "/image-2.png");
+        dto.setImages(images);
+        dto.setImageVariants(images.stream()
+                .map(image -> new ImageVariantsDto(image,
+                        "thumbnail/" + image, "preview/" + image))
+                .toList());
+        return dto;
+    }
+
+    @Benchmark
+    public byte[] writeTask() throws JsonProcessingException {
+        return writer.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public byte[] writeTasks() throws JsonProcessingException {
+        return writer.writeValueAsBytes(tasks);
+    }
+}
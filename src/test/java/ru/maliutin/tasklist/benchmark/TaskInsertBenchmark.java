@@ -0,0 +1,174 @@
+package ru.maliutin.tasklist.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Создание задач в PostgreSQL, время на одну задачу
+ * (задача и ее связь с пользователем, одна транзакция на 100 задач).
+ * identity - прежний способ (GenerationType.IDENTITY): каждый INSERT
+ * выполняется сразу, чтобы получить сгенерированный id;
+ * pooled - идентификаторы блоками по 50 из последовательности
+ * (GenerationType.SEQUENCE, allocationSize = 50) и пакетная отправка
+ * INSERT с reWriteBatchedInserts.
+ * Подключение задается переменными окружения BENCHMARK_JDBC_URL,
+ * BENCHMARK_JDBC_USER, BENCHMARK_JDBC_PASSWORD; таблицы создаются
+ * временными и удаляются при закрытии соединения.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskInsertBenchmark {
+
+    private static final int ALLOCATION_SIZE = 50;
+    private static final int ROWS = 100;
+
+    private Connection connection;
+
+    @Setup
+    public void setUp() throws SQLException {
+        String url = Objects.requireNonNullElse(
+                System.getenv("BENCHMARK_JDBC_URL"),
+                "jdbc:postgresql://localhost:5432/postgres");
+        connection = DriverManager.getConnection(
+                url + (url.contains("?") ? "&" : "?")
+                        + "reWriteBatchedInserts=true",
+                Objects.requireNonNullElse(
+                        System.getenv("BENCHMARK_JDBC_USER"), "postgres"),
+                Objects.requireNonNullElse(
+                        System.getenv("BENCHMARK_JDBC_PASSWORD"), "postgres"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TEMP TABLE bench_tasks
+                    (
+                        id              bigserial primary key,
+                        title           varchar(255) not null,
+                        description     varchar(255) null,
+                        status          varchar(255) not null,
+                        expiration_date timestamp    null
+                    )
+                    """);
+            statement.execute("""
+                    CREATE TEMP TABLE bench_users_tasks
+                    (
+                        user_id bigint not null,
+                        task_id bigint not null references bench_tasks (id),
+                        primary key (user_id, task_id)
+                    )
+                    """);
+            statement.execute("ALTER SEQUENCE bench_tasks_id_seq"
+                    + " INCREMENT BY " + ALLOCATION_SIZE
+                    + " RESTART WITH " + ALLOCATION_SIZE);
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE bench_users_tasks, bench_tasks");
+        }
+        connection.commit();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void identity() throws SQLException {
+        try (PreparedStatement task = connection.prepareStatement("""
+                INSERT INTO bench_tasks (title, description, status)
+                VALUES (?, ?, ?)
+                """, Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement link = connection.prepareStatement("""
+                     INSERT INTO bench_users_tasks (user_id, task_id)
+                     VALUES (?, ?)
+                     """)) {
+            for (int i = 0; i < ROWS; i++) {
+                task.setString(1, "Task " + i);
+                task.setString(2, "Imported task");
+                task.setString(3, "TODO");
+                task.executeUpdate();
+                long id;
+                try (ResultSet keys = task.getGeneratedKeys()) {
+                    keys.next();
+                    id = keys.getLong(1);
+                }
+                link.setLong(1, 1L);
+                link.setLong(2, id);
+                link.executeUpdate();
+            }
+        }
+        connection.commit();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void pooled() throws SQLException {
+        long[] ids = new long[ROWS];
+        try (PreparedStatement sequence = connection.prepareStatement("""
+                SELECT nextval('bench_tasks_id_seq')
+                FROM generate_series(1, ?)
+                """)) {
+            sequence.setInt(1, (ROWS + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE);
+            try (ResultSet values = sequence.executeQuery()) {
+                int index = 0;
+                while (values.next() && index < ROWS) {
+                    long value = values.getLong(1);
+                    for (long id = value - ALLOCATION_SIZE + 1;
+                         id <= value && index < ROWS; id++) {
+                        ids[index++] = id;
+                    }
+                }
+            }
+        }
+        try (PreparedStatement task = connection.prepareStatement("""
+                INSERT INTO bench_tasks (id, title, description, status)
+                VALUES (?, ?, ?, ?)
+                """);
+             PreparedStatement link = connection.prepareStatement("""
+                     INSERT INTO bench_users_tasks (user_id, task_id)
+                     VALUES (?, ?)
+                     """)) {
+            for (int i = 0; i < ROWS; i++) {
+                task.setLong(1, ids[i]);
+                task.setString(2, "Task " + i);
+                task.setString(3, "Imported task");
+                task.setString(4, "TODO");
+                task.addBatch();
+                link.setLong(1, 1L);
+                link.setLong(2, ids[i]);
+                link.addBatch();
+            }
+            task.executeBatch();
+            link.executeBatch();
+        }
+        connection.commit();
+    }
+}
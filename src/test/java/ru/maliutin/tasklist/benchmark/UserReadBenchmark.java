@@ -0,0 +1,128 @@
+package ru.maliutin.tasklist.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.maliutin.tasklist.domain.task.Status;
+import ru.maliutin.tasklist.domain.task.Task;
+import ru.maliutin.tasklist.domain.user.Role;
+import ru.maliutin.tasklist.domain.user.User;
+import ru.maliutin.tasklist.domain.user.UserIdentity;
+import ru.maliutin.tasklist.domain.user.UserProfile;
+import ru.maliutin.tasklist.web.security.JwtEntity;
+import ru.maliutin.tasklist.web.security.JwtEntityFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость чтения пользователя из кеша на один запрос
+ * для пользователя с большим количеством задач.
+ * legacyUserGraph - прежнее значение кеша: пользователь вместе
+ * со всеми задачами (EAGER User.tasks);
+ * identity, profile - облегченные модели чтения.
+ * Выделение памяти на операцию - метрика gc.alloc.rate.norm
+ * (профилировщик gc включен в профиле benchmark).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserReadBenchmark {
+
+    @Param({"10000"})
+    private int taskCount;
+
+    private byte[] legacyUserGraph;
+    private byte[] identity;
+    private byte[] profile;
+
+    /**
+     * Прежний граф пользователя: пользователь и все его задачи.
+     */
+    private static class LegacyUserGraph implements Serializable {
+        private User user;
+        private List<Task> tasks;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        User user = new User();
+        user.setId(1L);
+        user.setName("John Doe");
+        user.setUsername("johndoe@gmail.com");
+        user.setPassword(
+                "$2a$10$eaL9RAsJeY95hERA/D6iUOMLfDzt7FcIqcf39ytbShEioVYm0KGLq");
+        user.setRoles(Set.of(Role.ROLE_USER));
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Task();
+            task.setId(i);
+            task.setTitle("Task " + i);
+            task.setDescription("Description of task " + i);
+            task.setStatus(Status.TODO);
+            task.setExpirationDate(LocalDateTime.now().plusDays(i % 30));
+            task.setImages(List.of(i + ".png"));
+            tasks.add(task);
+        }
+        LegacyUserGraph graph = new LegacyUserGraph();
+        graph.user = user;
+        graph.tasks = tasks;
+        legacyUserGraph = serialize(graph);
+        identity = serialize(new UserIdentity(user.getId(),
+                user.getUsername(), user.getName(), user.getPassword(),
+                user.getRoles()));
+        profile = serialize(new UserProfile(user.getId(),
+                user.getName(), user.getUsername()));
+    }
+
+    @Benchmark
+    public JwtEntity legacyUserGraph() throws Exception {
+        LegacyUserGraph graph = (LegacyUserGraph) deserialize(legacyUserGraph);
+        return JwtEntityFactory.create(graph.user);
+    }
+
+    @Benchmark
+    public JwtEntity identity() throws Exception {
+        return JwtEntityFactory.create((UserIdentity) deserialize(identity));
+    }
+
+    @Benchmark
+    public Object profile() throws Exception {
+        return deserialize(profile);
+    }
+
+    private static byte[] serialize(final Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(final byte[] value) throws Exception {
+        try (ObjectInputStream in =
+                     new ObjectInputStream(new ByteArrayInputStream(value))) {
+            return in.readObject();
+        }
+    }
+}
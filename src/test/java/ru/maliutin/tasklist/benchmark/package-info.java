@@ -0,0 +1,5 @@
+/**
+ * JMH бенчмарки горячих участков приложения.
+ * Запускаются профилем benchmark, в обычной сборке не выполняются.
+ */
+package ru.maliutin.tasklist.benchmark;
@@ -0,0 +1,97 @@
+package ru.maliutin.tasklist.config;
+
+import graphql.ExecutionInput;
+import graphql.GraphQLError;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQueryIdInvalid;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.parser.Parser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PersistedQueryDocumentProviderTest {
+
+    private static final String QUERY = "{ taskById(id: 1) { id } }";
+
+    private final AtomicInteger parsed = new AtomicInteger();
+
+    @Test
+    void unknownHashIsNotFound(){
+        PersistedQueryDocumentProvider provider =
+                new PersistedQueryDocumentProvider(10, Map.of(), false);
+        GraphQLError error = singleError(provider.getDocument(
+                input("", "abc"), this::parse));
+        Assertions.assertEquals("PersistedQueryNotFound", error.getMessage());
+        Assertions.assertInstanceOf(PersistedQueryNotFound.class,
+                error.getErrorType());
+        Assertions.assertEquals("abc",
+                error.getExtensions().get("persistedQueryId"));
+        Assertions.assertEquals(0, parsed.get());
+    }
+
+    @Test
+    void hashNotMatchingQueryIsInvalid(){
+        PersistedQueryDocumentProvider provider =
+                new PersistedQueryDocumentProvider(10, Map.of(), false);
+        GraphQLError error = singleError(provider.getDocument(
+                input(QUERY, "abc"), this::parse));
+        Assertions.assertEquals("PersistedQueryIdInvalid",
+                error.getMessage());
+        Assertions.assertInstanceOf(PersistedQueryIdInvalid.class,
+                error.getErrorType());
+    }
+
+    @Test
+    void queryIsCachedByHash(){
+        PersistedQueryDocumentProvider provider =
+                new PersistedQueryDocumentProvider(10, Map.of(), false);
+        String hash = PersistedQueryDocumentProvider.sha256(QUERY);
+        PreparsedDocumentEntry first = provider.getDocument(
+                input(QUERY, hash), this::parse);
+        PreparsedDocumentEntry second = provider.getDocument(
+                input("", hash), this::parse);
+        Assertions.assertFalse(first.hasErrors());
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, parsed.get());
+    }
+
+    @Test
+    void registeredOnlyRejectsUnknownQuery(){
+        String hash = PersistedQueryDocumentProvider.sha256(QUERY);
+        PersistedQueryDocumentProvider provider =
+                new PersistedQueryDocumentProvider(10, Map.of(hash, QUERY),
+                        true);
+        Assertions.assertFalse(provider.getDocument(input("", hash),
+                this::parse).hasErrors());
+        String other = "{ taskById(id: 2) { id } }";
+        GraphQLError error = singleError(provider.getDocument(
+                input(other, PersistedQueryDocumentProvider.sha256(other)),
+                this::parse));
+        Assertions.assertInstanceOf(PersistedQueryNotFound.class,
+                error.getErrorType());
+    }
+
+    private PreparsedDocumentEntry parse(final ExecutionInput input){
+        parsed.incrementAndGet();
+        return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+    }
+
+    private static ExecutionInput input(final String query,
+                                        final String hash){
+        return ExecutionInput.newExecutionInput()
+                .query(query)
+                .extensions(Map.of("persistedQuery",
+                        Map.of("version", 1, "sha256Hash", hash)))
+                .build();
+    }
+
+    private static GraphQLError singleError(
+            final PreparsedDocumentEntry entry){
+        Assertions.assertTrue(entry.hasErrors());
+        Assertions.assertEquals(1, entry.getErrors().size());
+        return entry.getErrors().get(0);
+    }
+}
@@ -0,0 +1,120 @@
+package ru.maliutin.tasklist.config;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.GraphQLError;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.maliutin.tasklist.service.props.GraphqlLimitsProperties;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+public class QueryCostInstrumentationTest {
+
+    private GraphQLSchema schema;
+
+    private GraphqlLimitsProperties properties;
+
+    private GraphQL graphQL;
+
+    @BeforeEach
+    void start() throws Exception {
+        TypeDefinitionRegistry registry = new TypeDefinitionRegistry();
+        for (String file : List.of("schema.graphqls", "types.graphqls")) {
+            try (Reader reader = new InputStreamReader(getClass()
+                    .getResourceAsStream("/graphql/" + file),
+                    StandardCharsets.UTF_8)) {
+                registry.merge(new SchemaParser().parse(reader));
+            }
+        }
+        schema = new SchemaGenerator().makeExecutableSchema(registry,
+                RuntimeWiring.newRuntimeWiring()
+                        .scalar(new GraphqlConfig().localDateTimeScalar())
+                        .build());
+        properties = new GraphqlLimitsProperties();
+        properties.setMaxCost(1000);
+        properties.setFieldCosts(Map.of(
+                "Query.taskById", 5,
+                "Query.tasksByUserId", 10,
+                "Query.tasksPageByUserId", 10));
+        properties.setListSizes(Map.of("Query.tasksByUserId", 100));
+    }
+
+    @Test
+    void rejectOverCostQuery(){
+        properties.setMaxCost(100);
+        // 10 + 100 * (id + title)
+        assertRejected(execute("{ tasksByUserId(id: 1) { id title } }"),
+                "exceeds maximum cost");
+    }
+
+    @Test
+    void negativeLimitDoesNotLowerCost(){
+        properties.setMaxCost(700);
+        // 120 * (5 + 1) плюс страница из одного элемента
+        StringBuilder query = new StringBuilder("{ page: tasksPageByUserId("
+                + "id: 1, limit: -100000) { items { id } }");
+        for (int i = 0; i < 120; i++) {
+            query.append(" t").append(i).append(": taskById(id: 1) { id }");
+        }
+        assertRejected(execute(query.append(" }").toString()),
+                "exceeds maximum cost");
+    }
+
+    @Test
+    void limitAboveMaximumIsClamped(){
+        // 10 + (1 + 500 * 1) - размер страницы не больше MAX_PAGE_SIZE
+        ExecutionResult result = execute("{ tasksPageByUserId(id: 1,"
+                + " limit: 1000000) { items { id } } }");
+        Assertions.assertTrue(result.getErrors().isEmpty());
+    }
+
+    @Test
+    void rejectOverBudgetQuery(){
+        properties.getBudget().setCapacity(500);
+        // 10 + 100 * (id + title + status)
+        String query = "{ tasksByUserId(id: 1) { id title status } }";
+        Assertions.assertTrue(execute(query, "user").getErrors().isEmpty());
+        assertRejected(execute(query, "user"), "exceeds remaining budget");
+        Assertions.assertTrue(execute(query, "other").getErrors().isEmpty());
+    }
+
+    private ExecutionResult execute(final String query) {
+        return execute(query, null);
+    }
+
+    private ExecutionResult execute(final String query, final String user) {
+        if (graphQL == null) {
+            graphQL = GraphQL.newGraphQL(schema)
+                    .instrumentation(new QueryCostInstrumentation(
+                            GraphqlConfig.fieldCost(properties), properties))
+                    .build();
+        }
+        ExecutionInput.Builder input = ExecutionInput.newExecutionInput()
+                .query(query);
+        if (user != null) {
+            input.graphQLContext(Map.of(
+                    QueryCostInstrumentation.USER_KEY, user));
+        }
+        return graphQL.execute(input.build());
+    }
+
+    private static void assertRejected(final ExecutionResult result,
+                                       final String message) {
+        Assertions.assertEquals(1, result.getErrors().size());
+        GraphQLError error = result.getErrors().get(0);
+        Assertions.assertTrue(error.getMessage().contains(message),
+                error.getMessage());
+    }
+}
@@ -1,10 +1,11 @@
 package ru.maliutin.tasklist.config;
 
-import freemarker.template.Configuration;
 import io.minio.MinioClient;
 import lombok.RequiredArgsConstructor;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -16,8 +17,10 @@ import ru.maliutin.tasklist.repository.TaskRepository;
 import ru.maliutin.tasklist.repository.UserRepository;
 import ru.maliutin.tasklist.service.*;
 import ru.maliutin.tasklist.service.impl.*;
+import ru.maliutin.tasklist.service.props.ImageProperties;
 import ru.maliutin.tasklist.service.props.JwtProperties;
 import ru.maliutin.tasklist.service.props.MinioProperties;
+import ru.maliutin.tasklist.web.security.JwtClaimsCache;
 import ru.maliutin.tasklist.web.security.JwtTokenProvider;
 import ru.maliutin.tasklist.web.security.JwtUserDetailService;
 
@@ -33,6 +36,7 @@ public class TestConfig {
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
     private final AuthenticationManager authenticationManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Кодировка пароля пользователя.
@@ -96,7 +100,45 @@ public class TestConfig {
     @Bean
     @Primary
     public ImageService imageService(){
-        return new ImageServiceImpl(minioClient(), minioProperties());
+        return new ImageServiceImpl(minioClient(), minioProperties(),
+                new ImageProperties(),
+                new WorkerThreads());
+    }
+
+    /**
+     * Сервис версий пользователей в тестах не использует Redis.
+     * @return мок объект сервиса версий пользователей.
+     */
+    @Bean
+    public UserVersionService userVersionService(){
+        return Mockito.mock(UserVersionService.class);
+    }
+
+    /**
+     * Кеши в тестах не используются.
+     * @return мок объект удаления устаревших записей кеша.
+     */
+    @Bean
+    public CacheInvalidator cacheInvalidator(){
+        return Mockito.mock(CacheInvalidator.class);
+    }
+
+    /**
+     * Индекс владения задачами без кеширования.
+     * @return новый объект индекса, загружающий данные при каждой проверке.
+     */
+    @Bean
+    public TaskOwnershipIndex taskOwnershipIndex(){
+        return new TaskOwnershipIndex(userRepository, new NoOpCacheManager());
+    }
+
+    /**
+     * Кеш разобранных токенов.
+     * @return новый объект кеша с настройками из jwtProperties.
+     */
+    @Bean
+    public JwtClaimsCache jwtClaimsCache(){
+        return new JwtClaimsCache(jwtProperties());
     }
 
     /**
@@ -107,17 +149,18 @@ public class TestConfig {
     @Bean
     public JwtTokenProvider tokenProvider(){
         return new JwtTokenProvider(jwtProperties(),
-                userDetailsService(), userService());
+                userDetailsService(), userService(), jwtClaimsCache(),
+                userVersionService());
     }
 
     /**
-     * Конфигурация freemarker в тесте не используется,
-     * необходима для создания бина сервиса писем.
-     * @return мок объект конфигурации.
+     * Шаблоны писем в тесте не используются,
+     * необходимы для создания бина сервиса писем.
+     * @return мок объект наполнения писем по шаблонам.
      */
     @Bean
-    public Configuration configuration(){
-        return Mockito.mock(Configuration.class);
+    public MailTemplateRenderer mailTemplateRenderer(){
+        return Mockito.mock(MailTemplateRenderer.class);
     }
 
     /**
@@ -130,6 +173,15 @@ public class TestConfig {
         return Mockito.mock(JavaMailSender.class);
     }
 
+    /**
+     * Очередь отправки писем в тестах не используется.
+     * @return мок объект очереди отправки писем.
+     */
+    @Bean
+    public MailDispatcher mailDispatcher(){
+        return Mockito.mock(MailDispatcher.class);
+    }
+
     /**
      * Бин объекта сервиса для отправки писем.
      * @return объект отправки писем.
@@ -137,7 +189,8 @@ public class TestConfig {
     @Bean
     @Primary
     public MailService mailService(){
-        return new MailServiceImpl(configuration(), mailSender());
+        return new MailServiceImpl(mailTemplateRenderer(), mailSender(),
+                mailDispatcher());
     }
     /**
      * Сервис работы с пользователями.
@@ -148,7 +201,8 @@ public class TestConfig {
     @Primary
     public UserService userService(){
         return new UserServiceImpl(userRepository, testPasswordEncoder(),
-                mailService());
+                mailService(), userVersionService(), cacheInvalidator(),
+                taskOwnershipIndex());
     }
 
     /**
@@ -160,7 +214,7 @@ public class TestConfig {
     @Primary
     public TaskService taskService(){
         return new TaskServiceImpl(taskRepository,
-                imageService());
+                imageService(), cacheInvalidator(), eventPublisher);
     }
 
     /**
@@ -0,0 +1,175 @@
+package ru.maliutin.tasklist.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.jpa.repository.Query;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Проверка планов выполнения частых запросов к БД (EXPLAIN):
+ * запросы берутся из аннотаций @Query репозиториев и выполняются
+ * на заполненной тестовыми данными схеме, созданной миграциями.
+ * Требует локальный PostgreSQL, запуск:
+ * mvn test -Dtest=RepositoryQueryPlanTest
+ * -Dexplain.jdbc.url=jdbc:postgresql://localhost:5432/postgres
+ * [-Dexplain.jdbc.user=postgres -Dexplain.jdbc.password=postgres]
+ */
+@EnabledIfSystemProperty(named = "explain.jdbc.url", matches = ".+")
+public class RepositoryQueryPlanTest {
+
+    private static final String SCHEMA = "explain_test";
+
+    private static final Pattern PARAMETER = Pattern.compile("(?<!:):(\\w+)");
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void seed() throws SQLException, IOException {
+        connection = DriverManager.getConnection(
+                System.getProperty("explain.jdbc.url"),
+                System.getProperty("explain.jdbc.user", "postgres"),
+                System.getProperty("explain.jdbc.password", "postgres"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            statement.execute("CREATE SCHEMA " + SCHEMA);
+            statement.execute("SET search_path TO " + SCHEMA);
+            Resource[] changesets = new PathMatchingResourcePatternResolver()
+                    .getResources("classpath:liquibase/changesets/V*.sql");
+            Arrays.sort(changesets, Comparator.comparingInt(
+                    RepositoryQueryPlanTest::version));
+            for (Resource changeset : changesets) {
+                statement.execute(changeset.getContentAsString(
+                        StandardCharsets.UTF_8));
+            }
+            // 1000 пользователей по 200 задач, 70% задач выполнены,
+            // сроки распределены по году.
+            statement.execute("""
+                    INSERT INTO users (id, name, username, password)
+                    SELECT 1000 + i, 'User ' || i, 'user' || i || '@mail.com',
+                    'password'
+                    FROM generate_series(1, 1000) i
+                    """);
+            statement.execute("""
+                    INSERT INTO tasks (id, title, status, expiration_date)
+                    SELECT 1000 + i, 'Task ' || i,
+                    CASE WHEN i % 10 < 7 THEN 'DONE' ELSE 'TODO' END,
+                    timestamp '2024-01-01' + (i % 525600) * interval '1 minute'
+                    FROM generate_series(1, 200000) i
+                    """);
+            statement.execute("""
+                    INSERT INTO users_tasks (user_id, task_id)
+                    SELECT 1000 + (i % 1000) + 1, 1000 + i
+                    FROM generate_series(1, 200000) i
+                    """);
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @AfterAll
+    static void drop() throws SQLException {
+        if (connection == null) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    void findDueRemindersUsesExpirationIndex() throws Exception {
+        String plan = explain(query(TaskRepository.class, "findDueReminders",
+                        Timestamp.class, Timestamp.class, long.class, int.class),
+                Map.of("start", "timestamp '2024-03-01 10:00'",
+                        "end", "timestamp '2024-03-01 11:00'",
+                        "afterId", "0",
+                        "limit", "100"));
+        assertIndex(plan, "idx_tasks_expiration_date_not_done");
+    }
+
+    @Test
+    void findTaskAuthorUsesTaskIdIndex() throws Exception {
+        String plan = explain(query(UserRepository.class, "findTaskAuthor",
+                        Long.class),
+                Map.of("taskId", "150000"));
+        assertIndex(plan, "idx_users_tasks_task_id");
+    }
+
+    @Test
+    void findOwnerIdUsesTaskIdIndex() throws Exception {
+        String plan = explain(query(TaskRepository.class, "findOwnerId",
+                        long.class),
+                Map.of("taskId", "150000"));
+        assertIndex(plan, "idx_users_tasks_task_id");
+    }
+
+    @Test
+    void findTaskIdsByUserIdUsesPrimaryKey() throws Exception {
+        String plan = explain(query(UserRepository.class,
+                        "findTaskIdsByUserId", long.class),
+                Map.of("userId", "1500"));
+        assertIndex(plan, "users_tasks_pkey");
+    }
+
+    private static void assertIndex(final String plan, final String index) {
+        Assertions.assertTrue(plan.contains(index),
+                "Index " + index + " is not used:\n" + plan);
+        Assertions.assertFalse(plan.contains("Seq Scan on tasks"),
+                "Sequential scan of tasks:\n" + plan);
+        Assertions.assertFalse(plan.contains("Seq Scan on users_tasks"),
+                "Sequential scan of users_tasks:\n" + plan);
+    }
+
+    private static String query(final Class<?> repository,
+                                final String method,
+                                final Class<?>... parameterTypes)
+            throws NoSuchMethodException {
+        return repository.getMethod(method, parameterTypes)
+                .getAnnotation(Query.class)
+                .value();
+    }
+
+    private static String explain(final String sql,
+                                  final Map<String, String> parameters)
+            throws SQLException {
+        Matcher matcher = PARAMETER.matcher(sql);
+        StringBuilder query = new StringBuilder("EXPLAIN ");
+        while (matcher.find()) {
+            matcher.appendReplacement(query, Matcher.quoteReplacement(
+                    parameters.get(matcher.group(1))));
+        }
+        matcher.appendTail(query);
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(query.toString())) {
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private static int version(final Resource changeset) {
+        String name = changeset.getFilename();
+        return Integer.parseInt(name.substring(1, name.indexOf("__")));
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Проверка запросов репозиториев к БД.
+ */
+package ru.maliutin.tasklist.repository;
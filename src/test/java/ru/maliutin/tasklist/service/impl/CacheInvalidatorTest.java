@@ -0,0 +1,85 @@
+package ru.maliutin.tasklist.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+public class CacheInvalidatorTest {
+
+    private CacheManager cacheManager;
+
+    private Cache cache;
+
+    private CacheInvalidator cacheInvalidator;
+
+    @BeforeEach
+    void start(){
+        cacheManager = Mockito.mock(CacheManager.class);
+        cache = Mockito.mock(Cache.class);
+        Mockito.when(cacheManager.getCache(Mockito.anyString()))
+                .thenReturn(cache);
+        cacheInvalidator = new CacheInvalidator(cacheManager);
+    }
+
+    @AfterEach
+    void stop(){
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void taskDeletedWithoutTransaction(){
+        cacheInvalidator.taskDeleted(1L, 2L);
+        Mockito.verify(cacheManager)
+                .getCache(CacheInvalidator.TASK_BY_ID);
+        Mockito.verify(cacheManager)
+                .getCache(CacheInvalidator.TASK_AUTHOR);
+        Mockito.verify(cacheManager)
+                .getCache(CacheInvalidator.TASK_IDS);
+        Mockito.verify(cache, Mockito.times(2)).evict(1L);
+        Mockito.verify(cache).evict(2L);
+    }
+
+    @Test
+    void userDeletedEvictsIdentity(){
+        cacheInvalidator.userDeleted(1L, List.of("username"), List.of());
+        Mockito.verify(cacheManager)
+                .getCache(CacheInvalidator.USER_IDENTITY);
+        Mockito.verify(cacheManager)
+                .getCache(CacheInvalidator.USER_PROFILE);
+        Mockito.verify(cache, Mockito.times(2)).evict("username");
+    }
+
+    @Test
+    void evictAfterCommit(){
+        TransactionSynchronizationManager.initSynchronization();
+        cacheInvalidator.taskUpdated(1L);
+        cacheInvalidator.taskUpdated(1L);
+        Mockito.verifyNoInteractions(cache);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        Mockito.verify(cache).evict(1L);
+    }
+
+    @Test
+    void skipAfterRollback(){
+        TransactionSynchronizationManager.initSynchronization();
+        cacheInvalidator.userDeleted(1L, List.of("username"), List.of(2L));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        Mockito.verifyNoInteractions(cache);
+    }
+
+    private void complete(final int status){
+        List<TransactionSynchronization> synchronizations =
+                TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(status));
+    }
+}
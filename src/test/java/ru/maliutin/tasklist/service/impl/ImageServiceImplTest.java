@@ -0,0 +1,66 @@
+package ru.maliutin.tasklist.service.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+public class ImageServiceImplTest {
+
+    @Test
+    void resizeKeepsAspectRatio() throws IOException {
+        BufferedImage resized = decode(ImageServiceImpl.resize(
+                new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB),
+                100));
+        Assertions.assertEquals(100, resized.getWidth());
+        Assertions.assertEquals(50, resized.getHeight());
+    }
+
+    @Test
+    void resizeDoesNotUpscale() throws IOException {
+        BufferedImage resized = decode(ImageServiceImpl.resize(
+                new BufferedImage(60, 90, BufferedImage.TYPE_INT_RGB),
+                200));
+        Assertions.assertEquals(60, resized.getWidth());
+        Assertions.assertEquals(90, resized.getHeight());
+    }
+
+    @Test
+    void readSubsamplesLargeImage() throws IOException {
+        BufferedImage image = ImageServiceImpl.read(
+                new ByteArrayInputStream(png(1000, 500)), 1_000_000, 100);
+        Assertions.assertEquals(100, image.getWidth());
+        Assertions.assertEquals(50, image.getHeight());
+    }
+
+    @Test
+    void readRejectsTooManyPixels() throws IOException {
+        byte[] png = png(1000, 500);
+        Assertions.assertThrows(IOException.class,
+                () -> ImageServiceImpl.read(
+                        new ByteArrayInputStream(png), 100_000, 100));
+    }
+
+    @Test
+    void readUnsupportedFormat() throws IOException {
+        Assertions.assertNull(ImageServiceImpl.read(
+                new ByteArrayInputStream(new byte[]{1, 2, 3}), 100, 100));
+    }
+
+    private static byte[] png(final int width, final int height)
+            throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height,
+                BufferedImage.TYPE_INT_RGB), "png", outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private static BufferedImage decode(final byte[] bytes)
+            throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(bytes));
+    }
+}
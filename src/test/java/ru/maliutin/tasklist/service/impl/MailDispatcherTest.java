@@ -0,0 +1,78 @@
+package ru.maliutin.tasklist.service.impl;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import ru.maliutin.tasklist.service.props.MailDispatchProperties;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class MailDispatcherTest {
+
+    private JavaMailSender mailSender;
+
+    private MailDispatcher mailDispatcher;
+
+    @BeforeEach
+    void start(){
+        mailSender = Mockito.mock(JavaMailSender.class);
+        MailDispatchProperties properties = new MailDispatchProperties();
+        properties.setWorkers(1);
+        properties.setMaxAttempts(2);
+        properties.setInitialBackoff(Duration.ofMillis(10));
+        mailDispatcher = new MailDispatcher(mailSender, properties,
+                new WorkerThreads());
+        mailDispatcher.start();
+    }
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        mailDispatcher.stop();
+    }
+
+    @Test
+    void dispatch() throws Exception {
+        MimeMessage message = new MimeMessage((Session) null);
+        CompletableFuture<Void> result = mailDispatcher.dispatch(message);
+        result.get(2, TimeUnit.SECONDS);
+        Mockito.verify(mailSender)
+                .send(Mockito.any(MimeMessage[].class));
+    }
+
+    @Test
+    void dispatchFailsAfterAllAttempts(){
+        MimeMessage message = new MimeMessage((Session) null);
+        Mockito.doThrow(new MailSendException("Connection refused"))
+                .when(mailSender).send(Mockito.any(MimeMessage[].class));
+        CompletableFuture<Void> result = mailDispatcher.dispatch(message);
+        ExecutionException exception = Assertions.assertThrows(
+                ExecutionException.class,
+                () -> result.get(2, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(MailSendException.class,
+                exception.getCause());
+        Mockito.verify(mailSender, Mockito.times(2))
+                .send(Mockito.any(MimeMessage[].class));
+    }
+
+    @Test
+    void dispatchRetriesFailedMessage(){
+        MimeMessage message = new MimeMessage((Session) null);
+        Mockito.doThrow(new MailSendException(
+                        Map.of(message, new IllegalStateException())))
+                .doNothing()
+                .when(mailSender).send(Mockito.any(MimeMessage[].class));
+        mailDispatcher.dispatch(message);
+        Mockito.verify(mailSender, Mockito.timeout(2000).times(2))
+                .send(Mockito.any(MimeMessage[].class));
+    }
+}
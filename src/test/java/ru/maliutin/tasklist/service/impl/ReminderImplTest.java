@@ -0,0 +1,149 @@
+package ru.maliutin.tasklist.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mail.MailSendException;
+import ru.maliutin.tasklist.domain.mail.ReminderMail;
+import ru.maliutin.tasklist.domain.task.TaskReminder;
+import ru.maliutin.tasklist.service.MailService;
+import ru.maliutin.tasklist.service.TaskService;
+import ru.maliutin.tasklist.service.props.ReminderProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class ReminderImplTest {
+
+    private TaskService taskService;
+
+    private MailService mailService;
+
+    private ReminderImpl reminder;
+
+    @BeforeEach
+    void start(){
+        taskService = Mockito.mock(TaskService.class);
+        mailService = Mockito.mock(MailService.class);
+        ReminderProperties properties = new ReminderProperties();
+        properties.setPageSize(2);
+        properties.setSenders(1);
+        reminder = new ReminderImpl(taskService, mailService, properties,
+                new WorkerThreads());
+        reminder.init();
+        Mockito.when(taskService.getDueReminders(Mockito.any(),
+                        Mockito.anyLong(), Mockito.anyInt()))
+                .thenReturn(List.of());
+        Mockito.when(taskService.claimReminder(Mockito.any()))
+                .thenReturn(true);
+        Mockito.when(mailService.sendEmail(Mockito.any(), Mockito.any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @AfterEach
+    void stop(){
+        reminder.destroy();
+    }
+
+    @Test
+    void remindForTaskPagesAfterLastTaskId(){
+        TaskReminder first = reminder(1L, "first@mail.ru");
+        TaskReminder second = reminder(2L, "second@mail.ru");
+        TaskReminder third = reminder(3L, "third@mail.ru");
+        Duration window = Duration.ofHours(1);
+        Mockito.when(taskService.getDueReminders(window, 0L, 2))
+                .thenReturn(List.of(first, second));
+        Mockito.when(taskService.getDueReminders(window, 2L, 2))
+                .thenReturn(List.of(third));
+        reminder.remindForTask();
+        Mockito.verify(taskService).getDueReminders(window, 0L, 2);
+        Mockito.verify(taskService).getDueReminders(window, 2L, 2);
+        Mockito.verify(taskService, Mockito.never())
+                .getDueReminders(window, 3L, 2);
+        Mockito.verify(mailService, Mockito.timeout(1000).times(3))
+                .sendEmail(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void remindForTaskSkipsClaimedReminders(){
+        TaskReminder claimed = reminder(1L, "claimed@mail.ru");
+        TaskReminder free = reminder(2L, "free@mail.ru");
+        Mockito.when(taskService.getDueReminders(Mockito.any(),
+                        Mockito.eq(0L), Mockito.anyInt()))
+                .thenReturn(List.of(claimed, free));
+        Mockito.when(taskService.claimReminder(claimed)).thenReturn(false);
+        reminder.remindForTask();
+        Mockito.verify(mailService, Mockito.timeout(1000)).sendEmail(
+                Mockito.argThat(user ->
+                        "free@mail.ru".equals(user.getUsername())),
+                Mockito.any());
+        Mockito.verify(mailService, Mockito.never()).sendEmail(
+                Mockito.argThat(user ->
+                        "claimed@mail.ru".equals(user.getUsername())),
+                Mockito.any());
+        Mockito.verify(taskService, Mockito.never())
+                .releaseReminder(Mockito.any());
+    }
+
+    @Test
+    void remindForTaskReleasesFailedReminder(){
+        TaskReminder task = reminder(1L, "user@mail.ru");
+        Mockito.when(taskService.getDueReminders(Mockito.any(),
+                        Mockito.eq(0L), Mockito.anyInt()))
+                .thenReturn(List.of(task));
+        Mockito.when(mailService.sendEmail(Mockito.any(), Mockito.any()))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new MailSendException("Connection refused")));
+        reminder.remindForTask();
+        Mockito.verify(taskService, Mockito.timeout(1000))
+                .releaseReminder(task);
+    }
+
+    @Test
+    void remindForTaskReleasesReminderWhenMailCannotBeBuilt(){
+        TaskReminder task = reminder(1L, "user@mail.ru");
+        Mockito.when(taskService.getDueReminders(Mockito.any(),
+                        Mockito.eq(0L), Mockito.anyInt()))
+                .thenReturn(List.of(task));
+        Mockito.when(mailService.sendEmail(Mockito.any(), Mockito.any()))
+                .thenThrow(new IllegalStateException("Template error"));
+        reminder.remindForTask();
+        Mockito.verify(taskService, Mockito.timeout(1000))
+                .releaseReminder(task);
+    }
+
+    @Test
+    void remindForTaskPassesWindowToMail(){
+        TaskReminder task = reminder(1L, "user@mail.ru");
+        Mockito.when(taskService.getDueReminders(Mockito.any(),
+                        Mockito.eq(0L), Mockito.anyInt()))
+                .thenReturn(List.of(task));
+        reminder.remindForTask();
+        Mockito.verify(mailService, Mockito.timeout(1000)).sendEmail(
+                Mockito.any(), Mockito.eq(new ReminderMail("Name", "Title",
+                        null, "1 hour")));
+    }
+
+    @Test
+    void formatWindow(){
+        Assertions.assertEquals("30 minutes",
+                ReminderImpl.formatWindow(Duration.ofMinutes(30)));
+        Assertions.assertEquals("1 hour 30 minutes",
+                ReminderImpl.formatWindow(Duration.ofMinutes(90)));
+        Assertions.assertEquals("2 hours",
+                ReminderImpl.formatWindow(Duration.ofHours(2)));
+    }
+
+    private static TaskReminder reminder(final Long taskId,
+                                         final String username){
+        TaskReminder reminder = Mockito.mock(TaskReminder.class);
+        Mockito.when(reminder.getTaskId()).thenReturn(taskId);
+        Mockito.when(reminder.getUsername()).thenReturn(username);
+        Mockito.when(reminder.getUserName()).thenReturn("Name");
+        Mockito.when(reminder.getTitle()).thenReturn("Title");
+        return reminder;
+    }
+}
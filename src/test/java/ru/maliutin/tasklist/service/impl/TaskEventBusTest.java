@@ -0,0 +1,61 @@
+package ru.maliutin.tasklist.service.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import ru.maliutin.tasklist.domain.task.TaskChangedEvent;
+import ru.maliutin.tasklist.service.props.TaskEventProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class TaskEventBusTest {
+
+    private StringRedisTemplate redisTemplate;
+
+    private TaskEventBus taskEventBus;
+
+    @BeforeEach
+    void start(){
+        redisTemplate = Mockito.mock(StringRedisTemplate.class);
+        taskEventBus = new TaskEventBus(redisTemplate,
+                Mockito.mock(RedisMessageListenerContainer.class),
+                new TaskEventProperties());
+    }
+
+    @Test
+    void deliverToOwner() throws Exception {
+        CompletableFuture<List<TaskChangedEvent>> received = taskEventBus
+                .subscribe(1L).take(1).collectList().toFuture();
+        TaskChangedEvent foreign = new TaskChangedEvent(
+                TaskChangedEvent.Type.CREATED, 10L, 2L);
+        TaskChangedEvent own = new TaskChangedEvent(
+                TaskChangedEvent.Type.UPDATED, 11L, 1L);
+        taskEventBus.onTaskChanged(foreign);
+        taskEventBus.onTaskChanged(own);
+        Assertions.assertEquals(List.of(own),
+                received.get(5, TimeUnit.SECONDS));
+        Mockito.verify(redisTemplate, Mockito.times(2))
+                .convertAndSend(Mockito.eq(TaskEventBus.CHANNEL),
+                        Mockito.anyString());
+    }
+
+    @Test
+    void deliverFromOtherNode() throws Exception {
+        CompletableFuture<List<TaskChangedEvent>> received = taskEventBus
+                .subscribe(1L).take(1).collectList().toFuture();
+        taskEventBus.onMessage(new DefaultMessage(
+                TaskEventBus.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "node\nDELETED\n10\n1".getBytes(StandardCharsets.UTF_8)),
+                null);
+        Assertions.assertEquals(List.of(new TaskChangedEvent(
+                        TaskChangedEvent.Type.DELETED, 10L, 1L)),
+                received.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -16,6 +16,8 @@ import ru.maliutin.tasklist.domain.exception.ResourceNotFoundException;
 import ru.maliutin.tasklist.domain.task.Status;
 import ru.maliutin.tasklist.domain.task.Task;
 import ru.maliutin.tasklist.domain.task.TaskImage;
+import ru.maliutin.tasklist.domain.task.TaskPage;
+import ru.maliutin.tasklist.domain.task.TaskSort;
 import ru.maliutin.tasklist.repository.TaskRepository;
 import ru.maliutin.tasklist.repository.UserRepository;
 import ru.maliutin.tasklist.service.ImageService;
@@ -80,6 +82,48 @@ public class TaskServiceImplTest {
         Assertions.assertEquals(tasks, testTasks);
     }
 
+    @Test
+    void getPageByUserId(){
+        long userId = 1L;
+        int limit = 2;
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= limit + 1; i++) {
+            Task task = new Task();
+            task.setId(i);
+            tasks.add(task);
+        }
+        Mockito.when(taskRepository
+                        .findPageByUserIdOrderById(userId, 0L, limit + 1))
+                .thenReturn(tasks);
+        TaskPage page = taskService.getPageByUserId(userId, null, null, limit);
+        Assertions.assertEquals(limit, page.getItems().size());
+        Assertions.assertNotNull(page.getNextCursor());
+
+        Mockito.when(taskRepository
+                        .findPageByUserIdOrderById(userId, limit, limit + 1))
+                .thenReturn(List.of(tasks.get(limit)));
+        TaskPage nextPage = taskService.getPageByUserId(
+                userId, TaskSort.ID, page.getNextCursor(), limit);
+        Assertions.assertEquals(1, nextPage.getItems().size());
+        Assertions.assertNull(nextPage.getNextCursor());
+    }
+
+    @Test
+    void getPageByUserIdWithForeignCursor(){
+        long userId = 1L;
+        Task task = new Task();
+        task.setId(1L);
+        Mockito.when(taskRepository
+                        .findPageByUserIdOrderById(userId, 0L, 2))
+                .thenReturn(List.of(task, new Task()));
+        String cursor = taskService
+                .getPageByUserId(userId, TaskSort.ID, null, 1)
+                .getNextCursor();
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> taskService.getPageByUserId(userId,
+                        TaskSort.EXPIRATION_DATE, cursor, 1));
+    }
+
     @Test
     void update(){
         Task task = new Task();
@@ -159,6 +203,32 @@ public class TaskServiceImplTest {
         Mockito.verify(taskRepository).deleteById(taskId);
     }
 
+    @Test
+    void createAll(){
+        Long userId = 1L;
+        Task task = new Task();
+        task.setTitle("title");
+        List<Task> tasks = List.of(task);
+        List<Task> testTasks = taskService.createAll(tasks, userId);
+        Mockito.verify(taskRepository).insertAll(tasks, userId);
+        Mockito.verify(taskRepository, Mockito.never())
+                .assignTask(Mockito.anyLong(), Mockito.anyLong());
+        Assertions.assertEquals(Status.TODO, testTasks.get(0).getStatus());
+    }
+
+    @Test
+    void updateAllWithNotFoundTask(){
+        Task task = new Task();
+        task.setId(1L);
+        Task notFound = new Task();
+        notFound.setId(2L);
+        List<Task> tasks = List.of(task, notFound);
+        Mockito.when(taskRepository.updateAll(tasks))
+                .thenReturn(new int[]{1, 0});
+        Assertions.assertThrows(ResourceNotFoundException.class,
+                () -> taskService.updateAll(tasks));
+    }
+
     @Test
     void uploadImage(){
         Long id = 1L;
@@ -167,5 +237,38 @@ public class TaskServiceImplTest {
         Mockito.when(imageService.upload(taskImage)).thenReturn(imageName);
         taskService.uploadImage(id, taskImage);
         Mockito.verify(taskRepository).addImage(id, imageName);
+        Mockito.verify(imageService).createVariants(imageName);
+    }
+
+    @Test
+    void completeImageUpload(){
+        Long id = 1L;
+        String key = "1/image.png";
+        Task task = new Task();
+        task.setId(id);
+        task.setImages(new ArrayList<>());
+        Mockito.when(taskRepository.findById(id))
+                .thenReturn(Optional.of(task));
+        taskService.completeImageUpload(id, key);
+        Mockito.verify(imageService).verifyUpload(key);
+        Mockito.verify(taskRepository).addImage(id, key);
+        Mockito.verify(imageService).createVariants(key);
+    }
+
+    @Test
+    void completeImageUploadWithForeignKey(){
+        Long id = 1L;
+        String key = "2/image.png";
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> taskService.completeImageUpload(id, key));
+        Mockito.verify(taskRepository, Mockito.never())
+                .addImage(Mockito.anyLong(), Mockito.anyString());
+    }
+
+    @Test
+    void getAllByIdsWithoutIds(){
+        Assertions.assertTrue(taskService.getAllByIds(List.of()).isEmpty());
+        Mockito.verify(taskRepository, Mockito.never())
+                .findAllById(Mockito.any());
     }
 }
@@ -1,5 +1,6 @@
 package ru.maliutin.tasklist.service.impl;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,13 +13,18 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.maliutin.tasklist.config.TestConfig;
 import ru.maliutin.tasklist.domain.exception.ResourceNotFoundException;
 import ru.maliutin.tasklist.domain.user.Role;
 import ru.maliutin.tasklist.domain.user.User;
+import ru.maliutin.tasklist.domain.user.UserIdentity;
 import ru.maliutin.tasklist.repository.TaskRepository;
 import ru.maliutin.tasklist.repository.UserRepository;
+import ru.maliutin.tasklist.service.UserVersionService;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -43,6 +49,17 @@ public class UserServiceImplTest {
     @Autowired
     private UserServiceImpl userService;
 
+    @Autowired
+    private UserVersionService userVersionService;
+
+    @AfterEach
+    void stop(){
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        Mockito.clearInvocations(userVersionService);
+    }
+
     @Test
     void getById(){
         Long id = 1L;
@@ -85,6 +102,22 @@ public class UserServiceImplTest {
         Mockito.verify(userRepository).findByUsername(username);
     }
 
+    @Test
+    void getIdentityByUsername(){
+        long id = 1L;
+        String username = "testUser";
+        UserIdentity identity = new UserIdentity(id, username,
+                "name", "password");
+        Mockito.when(userRepository.findIdentityByUsername(username))
+                .thenReturn(Optional.of(identity));
+        Mockito.when(userRepository.findRolesById(id))
+                .thenReturn(Set.of(Role.ROLE_USER));
+        UserIdentity testIdentity = userService.getIdentityByUsername(username);
+        Mockito.verify(userRepository, Mockito.never())
+                .findByUsername(username);
+        Assertions.assertEquals(Set.of(Role.ROLE_USER), testIdentity.getRoles());
+    }
+
     @Test
     void update(){
         String password = "password";
@@ -101,10 +134,23 @@ public class UserServiceImplTest {
     void isTaskOwner(){
         Long userId = 1L;
         Long taskId = 1L;
-        Mockito.when(userRepository.isTaskOwner(userId, taskId))
-                .thenReturn(true);
+        Mockito.when(userRepository.findTaskIdsByUserId(userId))
+                .thenReturn(List.of(3L, taskId));
         Assertions.assertTrue(userService.isTaskOwner(userId, taskId));
-        Mockito.verify(userRepository).isTaskOwner(userId, taskId);
+        Mockito.verify(userRepository).findTaskIdsByUserId(userId);
+        Mockito.verify(userRepository, Mockito.never())
+                .countOwnedTasks(Mockito.anyLong(), Mockito.anyCollection());
+    }
+
+    @Test
+    void isTasksOwnerWithForeignTask(){
+        Long userId = 1L;
+        Mockito.when(userRepository.findTaskIdsByUserId(userId))
+                .thenReturn(List.of(1L, 2L));
+        Mockito.when(userRepository.countOwnedTasks(userId, Set.of(5L)))
+                .thenReturn(0L);
+        Assertions.assertFalse(
+                userService.isTasksOwner(userId, List.of(1L, 2L, 5L)));
     }
 
     @Test
@@ -114,6 +160,26 @@ public class UserServiceImplTest {
         Mockito.verify(userRepository).deleteById(id);
     }
 
+    @Test
+    void deleteRevokesTokensAfterCommit(){
+        Long id = 1L;
+        TransactionSynchronizationManager.initSynchronization();
+        userService.delete(id);
+        Mockito.verify(userVersionService, Mockito.never())
+                .increment(Mockito.anyLong());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        Mockito.verify(userVersionService).increment(id);
+    }
+
+    @Test
+    void deleteKeepsTokensAfterRollback(){
+        TransactionSynchronizationManager.initSynchronization();
+        userService.delete(1L);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        Mockito.verify(userVersionService, Mockito.never())
+                .increment(Mockito.anyLong());
+    }
+
     @Test
     void create(){
         String username = "username";
@@ -169,4 +235,11 @@ public class UserServiceImplTest {
                 () -> userService.create(user));
         Mockito.verify(userRepository, Mockito.never()).save(user);
     }
+
+    private void complete(final int status){
+        List<TransactionSynchronization> synchronizations =
+                TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(status));
+    }
 }
@@ -0,0 +1,115 @@
+package ru.maliutin.tasklist.web.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mockito;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.graphql.data.method.annotation.support.AnnotatedControllerConfigurer;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.graphql.execution.DefaultBatchLoaderRegistry;
+import org.springframework.graphql.execution.DefaultExecutionGraphQlService;
+import org.springframework.graphql.execution.GraphQlSource;
+import org.springframework.graphql.test.tester.ExecutionGraphQlServiceTester;
+import ru.maliutin.tasklist.config.GraphqlConfig;
+import ru.maliutin.tasklist.domain.task.Task;
+import ru.maliutin.tasklist.domain.user.UserProfile;
+import ru.maliutin.tasklist.service.TaskService;
+import ru.maliutin.tasklist.service.UserService;
+import ru.maliutin.tasklist.service.impl.TaskEventBus;
+import ru.maliutin.tasklist.web.mappers.TaskMapper;
+import ru.maliutin.tasklist.web.mappers.UserMapper;
+
+import java.util.List;
+import java.util.Map;
+
+public class GraphqlControllerTest {
+
+    private TaskService taskService;
+
+    private UserService userService;
+
+    private AnnotationConfigApplicationContext context;
+
+    private ExecutionGraphQlServiceTester tester;
+
+    @BeforeEach
+    void start(){
+        taskService = Mockito.mock(TaskService.class);
+        userService = Mockito.mock(UserService.class);
+        BatchLoaderRegistry batchLoaderRegistry =
+                new DefaultBatchLoaderRegistry();
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(TaskService.class, () -> taskService);
+        context.registerBean(UserService.class, () -> userService);
+        context.registerBean(TaskMapper.class,
+                () -> Mappers.getMapper(TaskMapper.class));
+        context.registerBean(UserMapper.class,
+                () -> Mappers.getMapper(UserMapper.class));
+        context.registerBean(BatchLoaderRegistry.class,
+                () -> batchLoaderRegistry);
+        context.registerBean(TaskEventBus.class,
+                () -> Mockito.mock(TaskEventBus.class));
+        context.registerBean(GraphqlController.class);
+        context.refresh();
+        AnnotatedControllerConfigurer controllers =
+                new AnnotatedControllerConfigurer();
+        controllers.setApplicationContext(context);
+        controllers.afterPropertiesSet();
+        GraphQlSource source = GraphQlSource.schemaResourceBuilder()
+                .schemaResources(
+                        new ClassPathResource("graphql/schema.graphqls"),
+                        new ClassPathResource("graphql/types.graphqls"))
+                .configureRuntimeWiring(controllers)
+                .configureRuntimeWiring(new GraphqlConfig()
+                        .runtimeWiringConfigurer())
+                .build();
+        DefaultExecutionGraphQlService service =
+                new DefaultExecutionGraphQlService(source);
+        service.addDataLoaderRegistrar(batchLoaderRegistry);
+        tester = ExecutionGraphQlServiceTester.create(service);
+    }
+
+    @AfterEach
+    void stop(){
+        context.close();
+    }
+
+    @Test
+    void batchTaskAuthorAndImages(){
+        Mockito.when(taskService.getAllByIds(Mockito.anyCollection()))
+                .thenReturn(List.of(task(1L), task(2L), task(3L)));
+        Mockito.when(taskService.getOwnerIds(Mockito.anyCollection()))
+                .thenReturn(Map.of(1L, 10L, 2L, 10L, 3L, 11L));
+        Mockito.when(taskService.getImages(Mockito.anyCollection()))
+                .thenReturn(Map.of(1L, List.of("1/image.png")));
+        Mockito.when(userService.getProfilesByIds(Mockito.anyCollection()))
+                .thenReturn(List.of(
+                        new UserProfile(10L, "John", "john@gmail.com"),
+                        new UserProfile(11L, "Mike", "mike@gmail.com")));
+        String fields = "{ id images author { id name } }";
+        tester.document("{ a: taskById(id: 1) " + fields
+                        + " b: taskById(id: 2) " + fields
+                        + " c: taskById(id: 3) " + fields + " }")
+                .execute()
+                .path("a.images").entityList(String.class)
+                .containsExactly("1/image.png")
+                .path("b.images").entityList(String.class).hasSize(0)
+                .path("a.author.name").entity(String.class).isEqualTo("John")
+                .path("c.author.name").entity(String.class).isEqualTo("Mike");
+        Mockito.verify(taskService).getAllByIds(Mockito.anyCollection());
+        Mockito.verify(taskService).getOwnerIds(Mockito.anyCollection());
+        Mockito.verify(taskService).getImages(Mockito.anyCollection());
+        Mockito.verify(userService)
+                .getProfilesByIds(Mockito.anyCollection());
+    }
+
+    private static Task task(final long id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        return task;
+    }
+}
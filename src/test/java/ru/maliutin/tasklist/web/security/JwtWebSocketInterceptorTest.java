@@ -0,0 +1,74 @@
+package ru.maliutin.tasklist.web.security;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.graphql.server.WebSocketSessionInfo;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import reactor.core.publisher.Mono;
+import ru.maliutin.tasklist.domain.exception.AccessDeniedException;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class JwtWebSocketInterceptorTest {
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    private WebSocketSessionInfo sessionInfo;
+
+    private Map<String, Object> attributes;
+
+    private JwtWebSocketInterceptor interceptor;
+
+    @BeforeEach
+    void start(){
+        jwtTokenProvider = Mockito.mock(JwtTokenProvider.class);
+        sessionInfo = Mockito.mock(WebSocketSessionInfo.class);
+        attributes = new HashMap<>();
+        Mockito.when(sessionInfo.getAttributes()).thenReturn(attributes);
+        Mockito.when(sessionInfo.getPrincipal()).thenReturn(Mono.empty());
+        interceptor = new JwtWebSocketInterceptor(jwtTokenProvider);
+    }
+
+    @Test
+    void authenticateByConnectionInitToken(){
+        ParsedToken token = new ParsedToken(Jwts.claims()
+                .subject("johndoe@gmail.com")
+                .add("id", 1L)
+                .expiration(Date.from(Instant.now().plusSeconds(60)))
+                .build());
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                "johndoe@gmail.com", "", List.of());
+        Mockito.when(jwtTokenProvider.parseToken("token")).thenReturn(token);
+        Mockito.when(jwtTokenProvider.getAuthentication(token))
+                .thenReturn(authentication);
+        interceptor.handleConnectionInitialization(sessionInfo,
+                Map.of("Authorization", "Bearer token")).block();
+        Assertions.assertSame(authentication,
+                attributes.get(JwtWebSocketInterceptor.AUTHENTICATION_KEY));
+    }
+
+    @Test
+    void rejectInvalidToken(){
+        Mockito.when(jwtTokenProvider.parseToken("token"))
+                .thenThrow(new IllegalArgumentException());
+        Mono<Object> result = interceptor.handleConnectionInitialization(
+                sessionInfo, Map.of("Authorization", "Bearer token"));
+        Assertions.assertThrows(AccessDeniedException.class, result::block);
+        Assertions.assertTrue(attributes.isEmpty());
+    }
+
+    @Test
+    void rejectWithoutToken(){
+        Mono<Object> result = interceptor.handleConnectionInitialization(
+                sessionInfo, Map.of());
+        Assertions.assertThrows(AccessDeniedException.class, result::block);
+    }
+}